@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react'
+import { useState, useEffect, useMemo } from 'react'
 import { Link } from 'react-router-dom'
 import { complaintAPI, likeAPI } from '../services/api'
 import { useAuth } from '../context/AuthContext'
@@ -14,10 +14,12 @@ const PublicComplaints = () => {
   const { isAuthenticated, user } = useAuth()
   const [filter, setFilter] = useState('all')
   const [sortBy, setSortBy] = useState('newest')
+  const [nextCursor, setNextCursor] = useState(null)
+  const [loadingMore, setLoadingMore] = useState(false)
 
   useEffect(() => {
     fetchComplaints()
-  }, [filter, sortBy])
+  }, [filter])
 
   useEffect(() => {
     if (complaints.length > 0) {
@@ -25,36 +27,18 @@ const PublicComplaints = () => {
     }
   }, [complaints])
 
+  // The feed is paged newest first; the status filter is applied by the server
+  const pageParams = (cursor) => ({
+    cursor,
+    status: filter !== 'all' ? filter : undefined
+  })
+
   const fetchComplaints = async () => {
     try {
       setLoading(true)
-      const response = await complaintAPI.getPublicComplaints()
-      
-      let data = Array.isArray(response) ? response : 
-                (response && Array.isArray(response.data) ? response.data : [])
-      
-      // Apply filters
-      if (filter !== 'all') {
-        data = data.filter(complaint => complaint.status === filter)
-      }
-      
-      // Apply sorting
-      data.sort((a, b) => {
-        switch(sortBy) {
-          case 'newest':
-            return new Date(b.createdAt) - new Date(a.createdAt)
-          case 'oldest':
-            return new Date(a.createdAt) - new Date(b.createdAt)
-          case 'most-liked':
-            return (b.likeCount || 0) - (a.likeCount || 0)
-          case 'most-commented':
-            return (b.commentCount || 0) - (a.commentCount || 0)
-          default:
-            return 0
-        }
-      })
-      
-      setComplaints(data)
+      const page = await complaintAPI.getPublicComplaints(pageParams())
+      setComplaints(page.items)
+      setNextCursor(page.nextCursor)
     } catch (err) {
       console.error('❌ Fetch error:', err)
       setError('Failed to fetch complaints. Please try again.')
@@ -63,6 +47,39 @@ const PublicComplaints = () => {
     }
   }
 
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return
+    try {
+      setLoadingMore(true)
+      const page = await complaintAPI.getPublicComplaints(pageParams(nextCursor))
+      setComplaints(prev => [...prev, ...page.items])
+      setNextCursor(page.nextCursor)
+    } catch (err) {
+      console.error('❌ Load more error:', err)
+      setError('Failed to load more complaints. Please try again.')
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
+  // Sorting applies to the pages loaded so far
+  const sortedComplaints = useMemo(() => {
+    return [...complaints].sort((a, b) => {
+      switch(sortBy) {
+        case 'newest':
+          return new Date(b.createdAt) - new Date(a.createdAt)
+        case 'oldest':
+          return new Date(a.createdAt) - new Date(b.createdAt)
+        case 'most-liked':
+          return (b.likeCount || 0) - (a.likeCount || 0)
+        case 'most-commented':
+          return (b.commentCount || 0) - (a.commentCount || 0)
+        default:
+          return 0
+      }
+    })
+  }, [complaints, sortBy])
+
   const fetchLikeStatuses = async () => {
     try {
       const statuses = {}
@@ -238,7 +255,7 @@ const PublicComplaints = () => {
           <div className="saas-toolbar">
             <div className="toolbar-left">
               <h2>{filter === 'all' ? 'All Tickets' : getStatusConfig(filter).label}</h2>
-              <span className="counter-badge">{complaints.length} items</span>
+              <span className="counter-badge">{complaints.length}{nextCursor ? '+' : ''} items</span>
             </div>
             <div className="toolbar-right">
               <div className="select-wrapper">
@@ -278,7 +295,7 @@ const PublicComplaints = () => {
                 <button className="saas-btn outline" onClick={fetchComplaints}>Refresh List</button>
               </div>
             ) : (
-              complaints.map(complaint => {
+              sortedComplaints.map(complaint => {
                 const status = getStatusConfig(complaint.status);
                 const hasLiked = likeStatuses[complaint.id] || false;
                 const isLiking = liking[complaint.id] || false;
@@ -352,6 +369,14 @@ const PublicComplaints = () => {
               })
             )}
           </div>
+
+          {nextCursor && (
+            <div className="load-more-wrapper">
+              <button className="saas-btn outline" onClick={loadMore} disabled={loadingMore}>
+                {loadingMore ? <><FaSyncAlt className="spin" /> Loading...</> : 'Load More'}
+              </button>
+            </div>
+          )}
         </main>
       </div>
     </div>
@@ -116,6 +116,47 @@ class ApiClient {
     }
   }
 
+  // GET for cursor-paged endpoints: returns the page and the X-Next-Cursor token (null on the last page)
+  async requestPage(url, params = {}, includeToken = true) {
+    const query = new URLSearchParams(
+      Object.entries(params).filter(([, value]) => value !== undefined && value !== null && value !== '')
+    ).toString()
+    const pageUrl = query ? `${url}?${query}` : url
+
+    console.log(`📤 GET ${pageUrl}`)
+
+    let response
+    try {
+      response = await fetch(`${this.baseURL}${pageUrl}`, {
+        method: 'GET',
+        headers: this.getHeaders(includeToken),
+        credentials: 'include'
+      })
+    } catch (error) {
+      console.error(`❌ GET ${pageUrl} - Error:`, error)
+      throw {
+        status: 0,
+        statusText: 'Network Error',
+        data: { error: 'Network connection failed' },
+        message: 'Network error. Please check your connection.'
+      }
+    }
+
+    const responseData = await response.json().catch(() => null)
+    if (!response.ok) {
+      throw {
+        status: response.status,
+        statusText: response.statusText,
+        data: responseData,
+        message: responseData?.message || responseData?.error || `Request failed with status ${response.status}`
+      }
+    }
+
+    const nextCursor = response.headers.get('X-Next-Cursor')
+    console.log(`✅ GET ${pageUrl} - ${Array.isArray(responseData) ? responseData.length : 0} items, more: ${!!nextCursor}`)
+    return { items: Array.isArray(responseData) ? responseData : [], nextCursor }
+  }
+
   // ==================== AUTH API ====================
   auth = {
     login: (credentials) => this.request('/auth/login', 'POST', credentials, false),
@@ -303,7 +344,8 @@ class ApiClient {
     
     // Retrieval
     getMyComplaints: () => this.request('/complaints/my', 'GET'),
-    getPublicComplaints: () => this.request('/public/complaints', 'GET', null, false),
+    // One page of the public feed, newest first; pass nextCursor back as cursor for the next page
+    getPublicComplaints: (params = {}) => this.requestPage('/public/complaints', params, false),
     getComplaintById: (id) => this.request(`/complaints/${id}`, 'GET'),
     getAllComplaints: () => this.request('/complaints', 'GET'),
     
@@ -515,7 +557,8 @@ class ApiClient {
 
   // ==================== PUBLIC API ====================
   public = {
-    getPublicComplaints: () => this.request('/public/complaints', 'GET', null, false),
+    // One page of the public feed, newest first; pass nextCursor back as cursor for the next page
+    getPublicComplaints: (params = {}) => this.requestPage('/public/complaints', params, false),
     getPublicComplaint: (id) => this.request(`/public/complaints/${id}`, 'GET', null, false),
     getPublicComments: (complaintId) => this.request(`/public/complaints/${complaintId}/comments`, 'GET', null, false),
     getPublicLikeCount: (complaintId) => this.request(`/public/complaints/${complaintId}/likes`, 'GET', null, false),
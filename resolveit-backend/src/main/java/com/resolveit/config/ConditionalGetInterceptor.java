@@ -0,0 +1,116 @@
+package com.resolveit.config;
+
+import com.resolveit.service.ContentVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Answers conditional GETs on the public complaint reads from
+ * {@link ContentVersionService}, before the controller opens a transaction.
+ *
+ * A request whose If-None-Match / If-Modified-Since still matches gets a 304
+ * without any database access. Otherwise the version is attached to the
+ * response and the handler runs as usual; the version is read first, so a
+ * concurrent change can only pair a newer body with an older ETag, which the
+ * next request corrects. Anonymous responses may be stored by shared caches
+ * for public.http-cache.shared-max-age-seconds; responses to authenticated
+ * requests are private and always revalidated.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ContentVersionService contentVersionService;
+
+    @Value("${public.http-cache.max-age-seconds:5}")
+    private long maxAgeSeconds;
+
+    @Value("${public.http-cache.shared-max-age-seconds:15}")
+    private long sharedMaxAgeSeconds;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return true;
+        }
+
+        String eTag;
+        long lastModified;
+        switch (pattern) {
+            // Trending order only changes with the engagement that moves the feed version
+            case "/public/complaints", "/public/complaints/trending" -> {
+                eTag = contentVersionService.feedETag();
+                lastModified = contentVersionService.feedLastModified();
+            }
+            case "/complaints/{id}",
+                 "/complaints/{complaintId}/comments",
+                 "/complaints/{complaintId}/like/count",
+                 "/complaints/{complaintId}/attachments" -> {
+                Long complaintId = complaintId(request);
+                if (complaintId == null) {
+                    return true;
+                }
+                eTag = contentVersionService.complaintETag(complaintId);
+                lastModified = contentVersionService.complaintLastModified(complaintId);
+            }
+            case "/complaints/{complaintId}/like/status" -> {
+                Long complaintId = complaintId(request);
+                if (complaintId == null) {
+                    return true;
+                }
+                Principal viewer = request.getUserPrincipal();
+                eTag = contentVersionService.complaintETag(complaintId, viewer != null ? viewer.getName() : null);
+                lastModified = contentVersionService.complaintLastModified(complaintId);
+            }
+            default -> {
+                return true;
+            }
+        }
+
+        boolean authenticated = request.getHeader(HttpHeaders.AUTHORIZATION) != null;
+        CacheControl cacheControl = authenticated
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                        .sMaxAge(Duration.ofSeconds(sharedMaxAgeSeconds))
+                        .cachePublic();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+
+        // Sets the 304 status itself when the client's copy is current
+        return !new ServletWebRequest(request, response).checkNotModified(eTag, lastModified);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long complaintId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>)
+                request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null) {
+            return null;
+        }
+        String value = variables.containsKey("id") ? variables.get("id") : variables.get("complaintId");
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            // Let the handler report the bad id
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.resolveit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Public reads that can be answered with 304 from in-memory versions
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/public/complaints", "/public/complaints/trending",
+                        "/complaints/*", "/complaints/*/comments", "/complaints/*/like/count",
+                        "/complaints/*/like/status", "/complaints/*/attachments");
+    }
+}
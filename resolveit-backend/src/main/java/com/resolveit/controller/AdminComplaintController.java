@@ -23,9 +23,6 @@ public class AdminComplaintController {
     private final ComplaintRepository complaintRepo;
     private final StatusLogRepository logRepo;
     private final UserRepository userRepo;
-    private final AttachmentRepository attachmentRepo;
-    private final ComplaintCommentRepository commentRepo;
-    private final ComplaintLikeRepository likeRepo;
 
     @GetMapping
     @Transactional(readOnly = true)
@@ -117,15 +114,9 @@ public class AdminComplaintController {
             dto.setAssignedEmployeeName(complaint.getAssignedEmployee().getFullName());
         }
 
-        if (complaint.getId() != null) {
-            dto.setAttachmentCount(attachmentRepo.countByComplaintId(complaint.getId()));
-            dto.setCommentCount(commentRepo.countByComplaintId(complaint.getId()));
-            dto.setLikeCount(likeRepo.countByComplaintId(complaint.getId()));
-        } else {
-            dto.setAttachmentCount(0L);
-            dto.setCommentCount(0L);
-            dto.setLikeCount(0L);
-        }
+        dto.setAttachmentCount(complaint.getAttachmentCount());
+        dto.setCommentCount(complaint.getCommentCount());
+        dto.setLikeCount(complaint.getLikeCount());
 
         return dto;
     }
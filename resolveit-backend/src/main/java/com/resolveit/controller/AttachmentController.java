@@ -2,6 +2,7 @@ package com.resolveit.controller;
 
 import com.resolveit.model.*;
 import com.resolveit.repository.*;
+import com.resolveit.service.AttachmentService;
 import org.apache.commons.io.FilenameUtils;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
@@ -17,7 +18,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
 import java.util.*;
 
 @RestController
@@ -28,6 +28,7 @@ public class AttachmentController {
     private final ComplaintRepository complaintRepo;
     private final AttachmentRepository attachmentRepo;
     private final UserRepository userRepo;
+    private final AttachmentService attachmentService;
 
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(
             "jpg", "jpeg", "png", "gif", "pdf", "doc", "docx", "txt"
@@ -38,11 +39,13 @@ public class AttachmentController {
     public AttachmentController(
             ComplaintRepository complaintRepo,
             AttachmentRepository attachmentRepo,
-            UserRepository userRepo
+            UserRepository userRepo,
+            AttachmentService attachmentService
     ) {
         this.complaintRepo = complaintRepo;
         this.attachmentRepo = attachmentRepo;
         this.userRepo = userRepo;
+        this.attachmentService = attachmentService;
     }
 
     @PostMapping
@@ -114,19 +117,14 @@ public class AttachmentController {
             // Save file
             Files.copy(file.getInputStream(), destPath);
 
-            // Save attachment record
-            Attachment attachment = new Attachment();
-            attachment.setFilename(file.getOriginalFilename());
-            attachment.setFilePath(destPath.toAbsolutePath().toString());
-            attachment.setComplaint(complaint);
-            attachment.setUploadedAt(LocalDateTime.now());
-
-            Attachment savedAttachment = attachmentRepo.save(attachment);
-
-            // Update complaint attachment count
-            long attachmentCount = attachmentRepo.countByComplaintId(complaintId);
-            complaint.setAttachmentCount(attachmentCount);
-            complaintRepo.save(complaint);
+            // Save attachment record, removing the file again if that fails
+            Attachment savedAttachment;
+            try {
+                savedAttachment = attachmentService.addAttachment(complaintId, file.getOriginalFilename(), destPath);
+            } catch (RuntimeException e) {
+                Files.deleteIfExists(destPath);
+                throw e;
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -256,20 +254,14 @@ public class AttachmentController {
                 return ResponseEntity.status(403).body(errorResponse);
             }
 
-            // Delete file from disk
+            // Delete database record, then the file once the record is gone
+            attachmentService.deleteAttachment(id);
+
             File file = new File(attachment.getFilePath());
             if (file.exists()) {
                 file.delete();
             }
 
-            // Delete database record
-            attachmentRepo.delete(attachment);
-
-            // Update complaint attachment count
-            long attachmentCount = attachmentRepo.countByComplaintId(complaintId);
-            attachment.getComplaint().setAttachmentCount(attachmentCount);
-            complaintRepo.save(attachment.getComplaint());
-
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Attachment deleted successfully");
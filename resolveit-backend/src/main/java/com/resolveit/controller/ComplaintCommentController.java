@@ -7,6 +7,7 @@ import com.resolveit.model.User;
 import com.resolveit.repository.ComplaintCommentRepository;
 import com.resolveit.repository.ComplaintRepository;
 import com.resolveit.repository.UserRepository;
+import com.resolveit.service.ComplaintActivityService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,15 +24,18 @@ public class ComplaintCommentController {
     private final ComplaintRepository complaintRepo;
     private final ComplaintCommentRepository commentRepo;
     private final UserRepository userRepo;
+    private final ComplaintActivityService activityService;
 
     public ComplaintCommentController(
             ComplaintRepository complaintRepo,
             ComplaintCommentRepository commentRepo,
-            UserRepository userRepo
+            UserRepository userRepo,
+            ComplaintActivityService activityService
     ) {
         this.complaintRepo = complaintRepo;
         this.commentRepo = commentRepo;
         this.userRepo = userRepo;
+        this.activityService = activityService;
     }
 
     // =========================
@@ -72,6 +76,7 @@ public class ComplaintCommentController {
             comment.setCreatedAt(LocalDateTime.now());
 
             ComplaintComment savedComment = commentRepo.save(comment);
+            activityService.commentAdded(complaint);
             return ResponseEntity.ok(savedComment);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
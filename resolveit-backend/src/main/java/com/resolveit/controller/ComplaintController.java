@@ -5,6 +5,7 @@ import com.resolveit.dto.ComplaintResponseDTO;
 import com.resolveit.model.*;
 import com.resolveit.repository.*;
 import com.resolveit.security.JwtService;
+import com.resolveit.service.ComplaintActivityService;
 import com.resolveit.service.EscalationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -37,10 +38,9 @@ public class ComplaintController {
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final AttachmentRepository attachmentRepository;
-    private final ComplaintCommentRepository commentRepository;
-    private final ComplaintLikeRepository likeRepository;
     private final EscalationService escalationService;
     private final StatusLogRepository statusLogRepository;
+    private final ComplaintActivityService activityService;
 
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(
             "jpg", "jpeg", "png", "gif", "pdf", "doc", "docx", "txt"
@@ -284,10 +284,9 @@ public class ComplaintController {
                     uploadedAttachments.add(attachmentInfo);
                 }
 
-                // Update complaint attachment count
-                long attachmentCount = attachmentRepository.countByComplaintId(savedComplaint.getId());
-                savedComplaint.setAttachmentCount(attachmentCount);
-                complaintRepository.save(savedComplaint);
+                activityService.attachmentsAdded(savedComplaint, uploadedAttachments.size());
+                // The column is not written by entity updates, so this only refreshes the response
+                savedComplaint.setAttachmentCount((long) uploadedAttachments.size());
             }
 
             ComplaintResponseDTO responseDTO = convertToDTO(savedComplaint);
@@ -597,22 +596,9 @@ public class ComplaintController {
             dto.setEscalationReason(complaint.getEscalationReason());
         }
 
-        if (complaint.getId() != null) {
-            try {
-                dto.setAttachmentCount(attachmentRepository.countByComplaintId(complaint.getId()));
-                dto.setCommentCount(commentRepository.countByComplaintId(complaint.getId()));
-                dto.setLikeCount(likeRepository.countByComplaintId(complaint.getId()));
-            } catch (Exception e) {
-                log.error("Error getting counts for complaint: {}", complaint.getId(), e);
-                dto.setAttachmentCount(0L);
-                dto.setCommentCount(0L);
-                dto.setLikeCount(0L);
-            }
-        } else {
-            dto.setAttachmentCount(0L);
-            dto.setCommentCount(0L);
-            dto.setLikeCount(0L);
-        }
+        dto.setAttachmentCount(complaint.getAttachmentCount());
+        dto.setCommentCount(complaint.getCommentCount());
+        dto.setLikeCount(complaint.getLikeCount());
 
         // Add days calculation
         if (complaint.getCreatedAt() != null) {
@@ -2,6 +2,7 @@ package com.resolveit.controller;
 
 import com.resolveit.model.*;
 import com.resolveit.repository.*;
+import com.resolveit.service.ComplaintActivityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +23,7 @@ public class ComplaintLikeController {
     private final ComplaintRepository complaintRepo;
     private final ComplaintLikeRepository likeRepo;
     private final UserRepository userRepo;
+    private final ComplaintActivityService activityService;
 
     @PostMapping
     @Transactional
@@ -57,6 +59,7 @@ public class ComplaintLikeController {
 
             if (existingLike.isPresent()) {
                 likeRepo.delete(existingLike.get());
+                activityService.likeRemoved(complaint);
                 response.put("action", "UNLIKED");
                 response.put("liked", false);
                 response.put("message", "Complaint unliked");
@@ -65,12 +68,13 @@ public class ComplaintLikeController {
                 like.setComplaint(complaint);
                 like.setUser(user);
                 likeRepo.save(like);
+                activityService.likeAdded(complaint);
                 response.put("action", "LIKED");
                 response.put("liked", true);
                 response.put("message", "Complaint liked");
             }
 
-            long likeCount = likeRepo.countByComplaintId(complaintId);
+            long likeCount = complaintRepo.findLikeCount(complaintId).orElse(0L);
             response.put("likeCount", likeCount);
             response.put("success", true);
 
@@ -88,7 +92,7 @@ public class ComplaintLikeController {
     @GetMapping("/count")
     public ResponseEntity<?> likeCount(@PathVariable Long complaintId) {
         try {
-            long count = likeRepo.countByComplaintId(complaintId);
+            long count = complaintRepo.findLikeCount(complaintId).orElse(0L);
             return ResponseEntity.ok(Map.of(
                     "likeCount", count,
                     "success", true
@@ -108,7 +112,7 @@ public class ComplaintLikeController {
             Authentication auth
     ) {
         try {
-            long likeCount = likeRepo.countByComplaintId(complaintId);
+            long likeCount = complaintRepo.findLikeCount(complaintId).orElse(0L);
 
             if (auth == null || !auth.isAuthenticated()) {
                 return ResponseEntity.ok(Map.of(
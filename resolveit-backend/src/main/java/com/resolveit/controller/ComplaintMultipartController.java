@@ -2,8 +2,10 @@ package com.resolveit.controller;
 
 import com.resolveit.model.*;
 import com.resolveit.repository.*;
+import com.resolveit.service.ComplaintActivityService;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -18,21 +20,25 @@ public class ComplaintMultipartController {
     private final ComplaintRepository complaintRepo;
     private final AttachmentRepository attachmentRepo;
     private final UserRepository userRepo;
+    private final ComplaintActivityService activityService;
 
     public ComplaintMultipartController(
             ComplaintRepository complaintRepo,
             AttachmentRepository attachmentRepo,
-            UserRepository userRepo
+            UserRepository userRepo,
+            ComplaintActivityService activityService
     ) {
         this.complaintRepo = complaintRepo;
         this.attachmentRepo = attachmentRepo;
         this.userRepo = userRepo;
+        this.activityService = activityService;
     }
 
     @PostMapping(
             value = "/submit-multipart",
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE
     )
+    @Transactional
     public Complaint submitComplaintMultipart(
             @RequestParam String title,
             @RequestParam String category,
@@ -82,6 +88,8 @@ public class ComplaintMultipartController {
                     attachment.setUploadedAt(LocalDateTime.now());
 
                     attachmentRepo.save(attachment);
+                    activityService.attachmentsAdded(savedComplaint, 1);
+                    savedComplaint.setAttachmentCount(savedComplaint.getAttachmentCount() + 1);
                 }
             }
         }
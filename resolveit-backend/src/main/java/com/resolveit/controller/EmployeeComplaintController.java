@@ -24,9 +24,6 @@ public class EmployeeComplaintController {
     private final ComplaintRepository complaintRepo;
     private final UserRepository userRepo;
     private final StatusLogRepository statusLogRepo;
-    private final AttachmentRepository attachmentRepo;
-    private final ComplaintCommentRepository commentRepo;
-    private final ComplaintLikeRepository likeRepo;
 
     // Get assigned complaints
     @GetMapping
@@ -240,22 +237,9 @@ public class EmployeeComplaintController {
             dto.setAssignedEmployeeName(complaint.getAssignedEmployee().getFullName());
         }
 
-        if (complaint.getId() != null) {
-            try {
-                dto.setAttachmentCount(attachmentRepo.countByComplaintId(complaint.getId()));
-                dto.setCommentCount(commentRepo.countByComplaintId(complaint.getId()));
-                dto.setLikeCount(likeRepo.countByComplaintId(complaint.getId()));
-            } catch (Exception e) {
-                log.error("Error getting counts for complaint {}: {}", complaint.getId(), e.getMessage());
-                dto.setAttachmentCount(0L);
-                dto.setCommentCount(0L);
-                dto.setLikeCount(0L);
-            }
-        } else {
-            dto.setAttachmentCount(0L);
-            dto.setCommentCount(0L);
-            dto.setLikeCount(0L);
-        }
+        dto.setAttachmentCount(complaint.getAttachmentCount());
+        dto.setCommentCount(complaint.getCommentCount());
+        dto.setLikeCount(complaint.getLikeCount());
 
         return dto;
     }
@@ -5,6 +5,7 @@ import com.resolveit.model.Complaint;
 import com.resolveit.model.User;
 import com.resolveit.repository.UserRepository;
 import com.resolveit.service.EscalationService;
+import com.resolveit.service.JobLeaseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,7 @@ public class EscalationController {
 
     private final EscalationService escalationService;
     private final UserRepository userRepository;
+    private final JobLeaseService jobLeaseService;
 
     @PostMapping("/complaints/{id}/escalate")
     public ResponseEntity<?> escalateComplaint(
@@ -138,4 +140,24 @@ public class EscalationController {
                 "data", stats
         ));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/escalation/leases")
+    public ResponseEntity<?> getJobLeases(Authentication authentication) {
+        User user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (user.getRole() != User.Role.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of(
+                    "success", false,
+                    "error", "Only admins can view scheduled job leases"
+            ));
+        }
+
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "nodeId", jobLeaseService.getNodeId(),
+                "liveNodes", jobLeaseService.getLiveNodes(),
+                "data", jobLeaseService.getMetrics()
+        ));
+    }
+}
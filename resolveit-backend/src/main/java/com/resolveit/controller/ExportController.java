@@ -1,18 +1,34 @@
 package com.resolveit.controller;
 
+import com.resolveit.dto.ExportJobDTO;
+import com.resolveit.model.ExportJob;
 import com.resolveit.model.User;
 import com.resolveit.repository.UserRepository;
+import com.resolveit.service.ExportCacheService;
+import com.resolveit.service.ExportFormat;
+import com.resolveit.service.ExportJobService;
 import com.resolveit.service.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @RestController
@@ -20,7 +36,15 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ExportController {
 
+    // Request attributes understood by Tomcat's NIO connector (see org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final ExportService exportService;
+    private final ExportCacheService exportCacheService;
+    private final ExportJobService exportJobService;
     private final UserRepository userRepository;
 
     @GetMapping("/complaints/{format}")
@@ -31,6 +55,8 @@ public class ExportController {
             @RequestParam(required = false) String urgency,
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request,
             Authentication authentication) {
 
         try {
@@ -44,21 +70,46 @@ public class ExportController {
             if (startDate != null) filters.put("startDate", startDate);
             if (endDate != null) filters.put("endDate", endDate);
 
-            byte[] exportData = exportService.exportComplaints(user, format.toUpperCase(), filters);
-
+            ExportFormat exportFormat = ExportFormat.from(format);
             String filename = String.format("complaints_%s_%s.%s",
                     user.getEmail().replace("@", "_"),
                     System.currentTimeMillis(),
-                    getFileExtension(format));
+                    exportFormat.getExtension());
 
-            String contentType = getContentType(format);
+            // Plain CSV is gzipped on the fly when the client accepts it; the file keeps its .csv name
+            boolean gzipEncoded = exportFormat == ExportFormat.CSV && acceptsGzip(acceptEncoding);
+            ExportFormat produced = gzipEncoded ? ExportFormat.CSV_GZ : exportFormat;
+            String contentEncoding = gzipEncoded ? "gzip" : null;
 
-            return ResponseEntity.ok()
+            // Repeat downloads of unchanged data are served from the export cache
+            ExportCacheService.CacheKey cacheKey = exportCacheService.key(user, produced, filters);
+            Optional<Path> cached = exportCacheService.lookup(cacheKey);
+            if (cached.isPresent()) {
+                log.info("📦 Serving cached {} export to {}", produced, user.getEmail());
+                return fileResponse(request, cached.get(), filename, exportFormat.getContentType(),
+                        contentEncoding, "HIT");
+            }
+
+            // Streamed from the database while a copy is written to the cache
+            StreamingResponseBody body = out -> exportCacheService.writeThrough(cacheKey, out,
+                    target -> exportService.exportComplaintsTo(user, produced, filters,
+                            target, Long.MAX_VALUE, new AtomicLong()));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION,
                             "attachment; filename=\"" + filename + "\"")
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(exportData);
+                    .header("X-Export-Cache", "MISS")
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()));
+            if (contentEncoding != null) {
+                response.header(HttpHeaders.CONTENT_ENCODING, contentEncoding)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            return response.body(body);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "error", e.getMessage()
+            ));
         } catch (Exception e) {
             log.error("❌ Error exporting complaints: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().body(Map.of(
@@ -151,21 +202,218 @@ public class ExportController {
         }
     }
 
+    // ==================== BACKGROUND EXPORT JOBS ====================
+
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitExportJob(
+            @RequestParam String type,
+            @RequestParam String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String urgency,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            Authentication authentication) {
+
+        try {
+            User user = userRepository.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            ExportJob.Type jobType = ExportJob.Type.valueOf(type.toUpperCase());
+            if (jobType == ExportJob.Type.PERFORMANCE &&
+                    user.getRole() != User.Role.EMPLOYEE &&
+                    user.getRole() != User.Role.SENIOR_EMPLOYEE) {
+                return ResponseEntity.status(403).body(Map.of(
+                        "success", false,
+                        "error", "Only employees can export performance reports"
+                ));
+            }
+
+            Map<String, String> filters = new HashMap<>();
+            if (status != null) filters.put("status", status);
+            if (category != null) filters.put("category", category);
+            if (urgency != null) filters.put("urgency", urgency);
+            if (startDate != null) filters.put("startDate", startDate);
+            if (endDate != null) filters.put("endDate", endDate);
+
+            ExportJob job = exportJobService.submit(user, jobType, ExportFormat.from(format), filters);
+            return ResponseEntity.accepted().body(Map.of(
+                    "success", true,
+                    "job", ExportJobDTO.from(job)
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "error", e.getMessage()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(429).body(Map.of(
+                    "success", false,
+                    "error", e.getMessage()
+            ));
+        } catch (Exception e) {
+            log.error("❌ Error submitting export job: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                    "success", false,
+                    "error", "Failed to submit export: " + e.getMessage()
+            ));
+        }
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<?> getMyExportJobs(Authentication authentication) {
+        User user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return ResponseEntity.ok(exportJobService.getJobs(user).stream()
+                .map(ExportJobDTO::from)
+                .toList());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getExportJob(@PathVariable String jobId, Authentication authentication) {
+        User user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return exportJobService.getJob(jobId, user)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(ExportJobDTO.from(job)))
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of(
+                        "success", false,
+                        "error", "Export job not found"
+                )));
+    }
+
+    // Progress pushed once a second until the job finishes
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamExportJob(@PathVariable String jobId, Authentication authentication) {
+        User user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Optional<ExportJob> job = exportJobService.getJob(jobId, user);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(404)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("success", false, "error", "Export job not found"));
+        }
+
+        // Re-read every tick, off the timer thread, since the job may be running on another instance
+        Flux<ExportJobDTO> progress = Flux.interval(Duration.ZERO, Duration.ofSeconds(1), Schedulers.boundedElastic())
+                .map(tick -> exportJobService.getJob(jobId, user))
+                .takeWhile(Optional::isPresent)
+                .map(Optional::get)
+                .takeUntil(ExportJob::isFinished)
+                .map(ExportJobDTO::from)
+                .onBackpressureLatest();
+        return ResponseEntity.ok().body(progress);
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<?> downloadExportJob(@PathVariable String jobId, HttpServletRequest request,
+                                               Authentication authentication) throws IOException {
+        User user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Optional<ExportJob> found = exportJobService.getJob(jobId, user);
+        if (found.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of(
+                    "success", false,
+                    "error", "Export job not found"
+            ));
+        }
+
+        ExportJob job = found.get();
+        if (job.getStatus() != ExportJob.Status.COMPLETED) {
+            return ResponseEntity.status(409).body(Map.of(
+                    "success", false,
+                    "error", "Export is " + job.getStatus().name().toLowerCase(),
+                    "job", ExportJobDTO.from(job)
+            ));
+        }
+
+        Optional<Path> file = exportJobService.getFile(job);
+        if (file.isEmpty()) {
+            log.warn("⚠️ Export file for job {} is not readable here: {}", jobId, job.getFilePath());
+            return ResponseEntity.status(404).body(Map.of(
+                    "success", false,
+                    "error", "Export file is no longer available"
+            ));
+        }
+
+        return fileResponse(request, file.get(), job.getFileName(), job.getFormat().getContentType(),
+                null, null);
+    }
+
+    /**
+     * Serves a finished export file. A full download is handed to Tomcat's sendfile,
+     * so the kernel copies the file to the socket without passing it through the heap;
+     * Range requests (and connectors without sendfile) fall back to Spring's resource
+     * handling, which answers ranges with 206 partial content.
+     */
+    private ResponseEntity<?> fileResponse(HttpServletRequest request, Path file, String filename,
+                                           String contentType, String contentEncoding,
+                                           String cacheStatus) throws IOException {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaType.parseMediaType(contentType));
+        if (contentEncoding != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, contentEncoding)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (cacheStatus != null) {
+            response.header("X-Export-Cache", cacheStatus);
+        }
+
+        long size = Files.size(file);
+        if (request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return response.contentLength(size).build();
+        }
+        return response.body(new FileSystemResource(file));
+    }
+
+    // Whether Accept-Encoding lists gzip with a non-zero quality
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     private String getContentType(String format) {
-        switch (format.toUpperCase()) {
-            case "CSV": return "text/csv";
-            case "PDF": return "application/pdf";
-            case "EXCEL": return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-            default: return "application/octet-stream";
+        try {
+            return ExportFormat.from(format).getContentType();
+        } catch (IllegalArgumentException e) {
+            return "application/octet-stream";
         }
     }
 
     private String getFileExtension(String format) {
-        switch (format.toUpperCase()) {
-            case "CSV": return "csv";
-            case "PDF": return "pdf";
-            case "EXCEL": return "xlsx";
-            default: return "bin";
+        try {
+            return ExportFormat.from(format).getExtension();
+        } catch (IllegalArgumentException e) {
+            return "bin";
         }
     }
-}
\ No newline at end of file
+}
@@ -1,40 +1,53 @@
 package com.resolveit.controller;
 
-import com.resolveit.dto.ComplaintResponseDTO;
-import com.resolveit.model.Complaint;
-import com.resolveit.repository.ComplaintRepository;
-import com.resolveit.repository.ComplaintLikeRepository;
-import com.resolveit.repository.AttachmentRepository;
-import com.resolveit.repository.ComplaintCommentRepository;
+import com.resolveit.dto.ComplaintFilter;
+import com.resolveit.dto.PublicFeedPage;
+import com.resolveit.service.PublicFeedSnapshot;
+import com.resolveit.service.TrendingComplaintIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/public/complaints")
 @RequiredArgsConstructor
-@Transactional
 public class PublicComplaintController {
 
-    private final ComplaintRepository complaintRepository;
-    private final ComplaintLikeRepository likeRepository;
-    private final AttachmentRepository attachmentRepository;
-    private final ComplaintCommentRepository commentRepository;
+    private final PublicFeedSnapshot publicFeedSnapshot;
+    private final TrendingComplaintIndex trendingComplaintIndex;
 
+    /**
+     * Newest public complaints, one page at a time. The body is the page as a
+     * plain array; when more complaints follow, X-Next-Cursor carries the token
+     * to pass back as {@code cursor} for the next page.
+     */
     @GetMapping
-    @Transactional(readOnly = true)
-    public ResponseEntity<?> getPublicComplaints() {
+    public ResponseEntity<?> getPublicComplaints(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String urgency) {
         try {
-            List<Complaint> complaints = complaintRepository.findByIsPublicTrueOrderByCreatedAtDesc();
-            List<ComplaintResponseDTO> dtos = complaints.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            Map<String, String> filters = new HashMap<>();
+            filters.put("category", category);
+            filters.put("status", status);
+            filters.put("urgency", urgency);
 
-            return ResponseEntity.ok(dtos);
+            PublicFeedPage page = publicFeedSnapshot.getPage(ComplaintFilter.from(filters), cursor, limit);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header("X-Next-Cursor", page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Invalid request",
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch complaints");
@@ -44,41 +57,20 @@ public class PublicComplaintController {
         }
     }
 
-    private ComplaintResponseDTO convertToDTO(Complaint complaint) {
-        ComplaintResponseDTO dto = new ComplaintResponseDTO();
-        dto.setId(complaint.getId());
-        dto.setTitle(complaint.getTitle());
-        dto.setCategory(complaint.getCategory());
-        dto.setDescription(complaint.getDescription());
-        dto.setStatus(complaint.getStatus());
-        dto.setUrgency(complaint.getUrgency());
-        dto.setAnonymous(complaint.getAnonymous());
-        dto.setIsPublic(complaint.getIsPublic());
-        dto.setCreatedAt(complaint.getCreatedAt());
-        dto.setUpdatedAt(complaint.getUpdatedAt());
-
-        if (!complaint.getAnonymous() && complaint.getUser() != null) {
-            dto.setUserId(complaint.getUser().getId());
-            dto.setUserFullName(complaint.getUser().getFullName());
-            dto.setUserEmail(complaint.getUser().getEmail());
-        }
-
-        if (complaint.getId() != null) {
-            try {
-                dto.setAttachmentCount(attachmentRepository.countByComplaintId(complaint.getId()));
-                dto.setCommentCount(commentRepository.countByComplaintId(complaint.getId()));
-                dto.setLikeCount(likeRepository.countByComplaintId(complaint.getId()));
-            } catch (Exception e) {
-                dto.setAttachmentCount(0L);
-                dto.setCommentCount(0L);
-                dto.setLikeCount(0L);
-            }
-        } else {
-            dto.setAttachmentCount(0L);
-            dto.setCommentCount(0L);
-            dto.setLikeCount(0L);
+    /**
+     * Public complaints ranked by recent likes, comments and recency, hottest
+     * first. {@code limit} defaults to trending.default-limit.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingComplaints(@RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(trendingComplaintIndex.getTrending(limit));
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to fetch trending complaints");
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("timestamp", new Date());
+            return ResponseEntity.internalServerError().body(errorResponse);
         }
-
-        return dto;
     }
-}
\ No newline at end of file
+}
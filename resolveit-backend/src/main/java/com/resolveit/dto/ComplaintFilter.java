@@ -0,0 +1,72 @@
+package com.resolveit.dto;
+
+import com.resolveit.model.ComplaintState;
+import com.resolveit.model.Urgency;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Export/report and public feed filters parsed once from the request
+ * parameters, in the types the repository query binds. Missing or blank values
+ * mean "no filter".
+ */
+@Getter
+@AllArgsConstructor
+public class ComplaintFilter {
+    private ComplaintState status;
+    private String category;
+    private Urgency urgency;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    public static ComplaintFilter from(Map<String, String> filters) {
+        if (filters == null) {
+            filters = Map.of();
+        }
+        String status = value(filters, "status");
+        String urgency = value(filters, "urgency");
+        String startDate = value(filters, "startDate");
+        String endDate = value(filters, "endDate");
+
+        try {
+            return new ComplaintFilter(
+                    status != null ? ComplaintState.valueOf(status) : null,
+                    value(filters, "category"),
+                    urgency != null ? Urgency.valueOf(urgency) : null,
+                    startDate != null ? LocalDate.parse(startDate).atStartOfDay() : null,
+                    endDate != null ? LocalDate.parse(endDate).atTime(LocalTime.of(23, 59, 59)) : null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid filter: " + e.getMessage());
+        }
+    }
+
+    // True when the feed filters (status, category, urgency) are all unset
+    public boolean isEmpty() {
+        return status == null && category == null && urgency == null;
+    }
+
+    /**
+     * Canonical form of the filter, equal for requests that select the same rows
+     * (category is compared case-insensitively by the database).
+     */
+    public String fingerprint() {
+        return String.join("|",
+                status != null ? status.name() : "",
+                category != null ? category.toLowerCase(Locale.ROOT) : "",
+                urgency != null ? urgency.name() : "",
+                startDate != null ? startDate.toString() : "",
+                endDate != null ? endDate.toString() : "");
+    }
+
+    private static String value(Map<String, String> filters, String key) {
+        String value = filters.get(key);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,46 @@
+package com.resolveit.dto;
+
+import com.resolveit.model.ComplaintState;
+import com.resolveit.model.Urgency;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload of a "delta" event on the dashboard stream. Counter keys mirror the
+ * DashboardStatsDTO fields, e.g. "totalComplaints", "complaintsByStatus.NEW",
+ * "complaintsByCategory.Water"; values are the amount to add on the client.
+ */
+@Getter
+@Setter
+public class DashboardDeltaDTO {
+
+    public enum Change {
+        CREATED,
+        REASSIGNED,
+        ESCALATED,
+        RESOLVED,
+        STATUS_CHANGED,
+        UPDATED,
+        DELETED
+    }
+
+    private Long complaintId;
+    private List<Change> changes;
+    private Map<String, Long> counters;
+    private RecentComplaint recentComplaint;    // only for CREATED
+    private LocalDateTime timestamp;
+
+    @Getter
+    @Setter
+    public static class RecentComplaint {
+        private Long id;
+        private String category;
+        private ComplaintState status;
+        private Urgency urgency;
+        private LocalDateTime createdAt;
+    }
+}
@@ -24,7 +24,13 @@ public class DashboardStatsDTO {
     private Map<String, Long> complaintsByMonth;
 
     private Double averageResolutionTime;
+    private Map<String, Double> resolutionTimePercentiles;                      // p50/p90/p99 in hours
+    private Map<String, Map<String, Double>> resolutionTimePercentilesByCategory;
     private Long complaintsPastDue;
     private List<ComplaintResponseDTO> recentComplaints;
     private List<Map<String, Object>> escalationTrends;
+
+    // Set when some sections missed the parallel-load deadline (see DashboardSectionRunner)
+    private Boolean partial = false;
+    private List<String> unavailableSections;
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.resolveit.dto;
+
+import com.resolveit.model.ComplaintState;
+import com.resolveit.model.Urgency;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar-only view of a complaint an employee is handling (assigned to them,
+ * escalated to them, or both). Selected with a JPQL constructor expression so
+ * no User rows are loaded for dashboard aggregation.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeWorkloadItem {
+    private Long id;
+    private String category;
+    private ComplaintState status;
+    private Urgency urgency;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime lastStatusChangeDate;
+    private Long assignedEmployeeId;
+    private Long escalatedToId;
+
+    public boolean isAssignedTo(Long employeeId) {
+        return employeeId.equals(assignedEmployeeId);
+    }
+
+    public boolean isEscalatedTo(Long employeeId) {
+        return employeeId.equals(escalatedToId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.resolveit.dto;
+
+import com.resolveit.model.ExportJob;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+public class ExportJobDTO {
+    private String jobId;
+    private String type;
+    private String format;
+    private String status;
+    private Map<String, String> filters;
+    private Long rowsWritten;
+    private Long fileSize;
+    private Boolean truncated;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String downloadUrl;
+
+    public static ExportJobDTO from(ExportJob job) {
+        ExportJobDTO dto = new ExportJobDTO();
+        dto.setJobId(job.getId());
+        dto.setType(job.getType().name());
+        dto.setFormat(job.getFormat().name());
+        dto.setStatus(job.getStatus().name());
+        dto.setFilters(job.getFilters());
+        dto.setRowsWritten(job.getRowsWritten());
+        dto.setFileSize(job.getFileSize());
+        dto.setTruncated(job.isTruncated());
+        dto.setError(job.getError());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        if (job.getStatus() == ExportJob.Status.COMPLETED) {
+            dto.setDownloadUrl("/api/export/jobs/" + job.getId() + "/download");
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,16 @@
+package com.resolveit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of the public complaint feed. {@code nextCursor} is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class PublicFeedPage {
+    private List<ComplaintResponseDTO> items;
+    private String nextCursor;
+}
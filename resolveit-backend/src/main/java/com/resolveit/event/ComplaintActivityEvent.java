@@ -0,0 +1,28 @@
+package com.resolveit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published inside the writing transaction when a like, comment or attachment
+ * is added to or removed from a complaint. These change the complaint's
+ * counters but not the complaint itself, so no {@link ComplaintChangedEvent}
+ * fires for them. {@code complaint} is the complaint as it stands, so
+ * listeners can tell whose views show the counts.
+ */
+@Getter
+@AllArgsConstructor
+public class ComplaintActivityEvent {
+
+    public enum Type {
+        LIKE_ADDED, LIKE_REMOVED, COMMENT_ADDED, ATTACHMENT_ADDED, ATTACHMENT_REMOVED
+    }
+
+    private final ComplaintSnapshot complaint;
+    private final Type type;
+    private final int count;
+
+    public Long getComplaintId() {
+        return complaint.getId();
+    }
+}
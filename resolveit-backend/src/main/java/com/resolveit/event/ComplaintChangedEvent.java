@@ -0,0 +1,29 @@
+package com.resolveit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published synchronously, inside the writing transaction, whenever a complaint
+ * row is inserted, updated or deleted. {@code before} is null for inserts and
+ * {@code after} is null for deletes.
+ */
+@Getter
+@AllArgsConstructor
+public class ComplaintChangedEvent {
+
+    private final ComplaintSnapshot before;
+    private final ComplaintSnapshot after;
+
+    public boolean isCreated() {
+        return before == null && after != null;
+    }
+
+    public boolean isDeleted() {
+        return before != null && after == null;
+    }
+
+    public Long getComplaintId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
@@ -0,0 +1,82 @@
+package com.resolveit.event;
+
+import com.resolveit.model.Complaint;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+
+/**
+ * JPA callbacks for {@link Complaint}. Entity saves and deletes go through
+ * here, so counters and caches stay correct without each controller having to
+ * remember to notify them.
+ *
+ * Bulk statements bypass these callbacks and publish nothing. The only ones in
+ * the application are the native updates in ComplaintRepository: the
+ * like/comment/attachment counters, announced instead by ComplaintActivityService
+ * as ComplaintActivityEvents, and recomputeEscalationDue, which is followed by
+ * the escalation scheduler re-reading the next deadline. Any new bulk write on
+ * complaints has to notify its listeners itself.
+ *
+ * Before each write it also lets the complaint refresh its timestamps and
+ * escalation deadline, passing in escalation.threshold.minutes.
+ *
+ * Instantiated by Hibernate through Spring's bean container, which is why the
+ * publisher and the threshold can be constructor-injected.
+ */
+public class ComplaintEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration escalationThreshold;
+
+    public ComplaintEntityListener(ApplicationEventPublisher eventPublisher,
+                                   @Value("${escalation.threshold.minutes:7}") long escalationThresholdMinutes) {
+        this.eventPublisher = eventPublisher;
+        this.escalationThreshold = Duration.ofMinutes(escalationThresholdMinutes);
+    }
+
+    @PrePersist
+    public void beforePersist(Complaint complaint) {
+        complaint.onCreate(escalationThreshold);
+    }
+
+    @PreUpdate
+    public void beforeUpdate(Complaint complaint) {
+        complaint.onUpdate(escalationThreshold);
+    }
+
+    @PostLoad
+    public void onLoad(Complaint complaint) {
+        complaint.setLoadedState(ComplaintSnapshot.of(complaint));
+    }
+
+    @PostPersist
+    public void onPersist(Complaint complaint) {
+        ComplaintSnapshot after = ComplaintSnapshot.of(complaint);
+        complaint.setLoadedState(after);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(null, after));
+    }
+
+    @PostUpdate
+    public void onUpdate(Complaint complaint) {
+        ComplaintSnapshot before = complaint.getLoadedState();
+        ComplaintSnapshot after = ComplaintSnapshot.of(complaint);
+        complaint.setLoadedState(after);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(before, after));
+    }
+
+    @PostRemove
+    public void onRemove(Complaint complaint) {
+        ComplaintSnapshot before = complaint.getLoadedState() != null
+                ? complaint.getLoadedState()
+                : ComplaintSnapshot.of(complaint);
+        complaint.setLoadedState(null);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(before, null));
+    }
+}
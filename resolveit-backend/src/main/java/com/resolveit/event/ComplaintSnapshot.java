@@ -0,0 +1,101 @@
+package com.resolveit.event;
+
+import com.resolveit.model.Complaint;
+import com.resolveit.model.ComplaintState;
+import com.resolveit.model.Urgency;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the complaint columns that aggregates are derived from.
+ * Taken when a complaint is loaded and again after every write, so listeners
+ * can work out exactly which counters moved.
+ */
+@Getter
+@AllArgsConstructor
+public class ComplaintSnapshot {
+
+    // Columns read by fromRow(), for rebuilds that recount straight from the complaints table
+    public static final String COLUMNS = "id, category, status, urgency, is_public, user_id, " +
+            "assigned_employee_id, escalated_to_id, created_at, updated_at, escalation_due_at";
+
+    private final Long id;
+    private final String category;
+    private final ComplaintState status;
+    private final Urgency urgency;
+    private final boolean isPublic;
+    private final boolean escalated;
+    private final Long userId;
+    private final Long assignedEmployeeId;
+    private final Long escalatedToId;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime escalationDueAt;
+
+    public static ComplaintSnapshot of(Complaint complaint) {
+        return new ComplaintSnapshot(
+                complaint.getId(),
+                complaint.getCategory(),
+                complaint.getStatus(),
+                complaint.getUrgency(),
+                Boolean.TRUE.equals(complaint.getIsPublic()),
+                complaint.getEscalatedTo() != null,
+                complaint.getUser() != null ? complaint.getUser().getId() : null,
+                complaint.getAssignedEmployee() != null ? complaint.getAssignedEmployee().getId() : null,
+                complaint.getEscalatedTo() != null ? complaint.getEscalatedTo().getId() : null,
+                complaint.getCreatedAt(),
+                complaint.getUpdatedAt(),
+                complaint.getEscalationDueAt()
+        );
+    }
+
+    public static ComplaintSnapshot fromRow(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        String urgency = rs.getString("urgency");
+        Long escalatedToId = rs.getObject("escalated_to_id", Long.class);
+        return new ComplaintSnapshot(
+                rs.getLong("id"),
+                rs.getString("category"),
+                status != null ? ComplaintState.valueOf(status) : null,
+                urgency != null ? Urgency.valueOf(urgency) : null,
+                rs.getBoolean("is_public"),
+                escalatedToId != null,
+                rs.getObject("user_id", Long.class),
+                rs.getObject("assigned_employee_id", Long.class),
+                escalatedToId,
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("updated_at")),
+                toLocalDateTime(rs.getTimestamp("escalation_due_at"))
+        );
+    }
+
+    public boolean isResolved() {
+        return status == ComplaintState.RESOLVED;
+    }
+
+    // Same measure the dashboard has always used: whole hours from creation to last update
+    public long getResolutionHours() {
+        if (createdAt == null || updatedAt == null) {
+            return 0L;
+        }
+        return Duration.between(createdAt, updatedAt).toHours();
+    }
+
+    // Finer-grained variant for the resolution-time sketches
+    public long getResolutionMinutes() {
+        if (createdAt == null || updatedAt == null) {
+            return 0L;
+        }
+        return Duration.between(createdAt, updatedAt).toMinutes();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.resolveit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published synchronously, inside the writing transaction, when a user is
+ * inserted or deleted, or their name or email changes. Other user updates,
+ * such as the last login time, do not publish it.
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    private final Long userId;
+}
@@ -0,0 +1,53 @@
+package com.resolveit.event;
+
+import com.resolveit.model.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Objects;
+
+/**
+ * JPA callbacks for {@link User}, publishing a {@link UserChangedEvent} when
+ * the name or email that other records display changes. Like
+ * ComplaintEntityListener it is instantiated through Spring's bean container.
+ */
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    public void onLoad(User user) {
+        user.setLoadedProfile(profile(user));
+    }
+
+    @PostPersist
+    public void onPersist(User user) {
+        user.setLoadedProfile(profile(user));
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+
+    @PostUpdate
+    public void onUpdate(User user) {
+        String profile = profile(user);
+        if (!Objects.equals(profile, user.getLoadedProfile())) {
+            user.setLoadedProfile(profile);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+
+    private static String profile(User user) {
+        return user.getFullName() + "\n" + user.getEmail();
+    }
+}
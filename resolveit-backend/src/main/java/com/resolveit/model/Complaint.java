@@ -1,13 +1,29 @@
 package com.resolveit.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.resolveit.event.ComplaintEntityListener;
+import com.resolveit.event.ComplaintSnapshot;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+        @Index(name = "idx_complaints_created_at", columnList = "created_at"),
+        @Index(name = "idx_complaints_status_last_change", columnList = "status, last_status_change_date"),
+        @Index(name = "idx_complaints_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_complaints_category_created_at", columnList = "category, created_at"),
+        @Index(name = "idx_complaints_status_updated_at", columnList = "status, updated_at"),
+        @Index(name = "idx_complaints_escalation_due_at", columnList = "escalation_due_at"),
+        @Index(name = "idx_complaints_public_created_at", columnList = "is_public, created_at, id"),
+        @Index(name = "idx_complaints_public_category_created_at", columnList = "is_public, category, created_at, id"),
+        @Index(name = "idx_complaints_public_status_created_at", columnList = "is_public, status, created_at, id"),
+        @Index(name = "idx_complaints_public_urgency_created_at", columnList = "is_public, urgency, created_at, id")
+})
+@EntityListeners(ComplaintEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -66,21 +82,42 @@ public class Complaint {
     @Column
     private Boolean requiresEscalation = false;
 
+    // When auto-escalation picks this complaint up; null once escalated or resolved
+    @Column(name = "escalation_due_at")
+    private LocalDateTime escalationDueAt;
+
     @Column
     private Integer daysOpen = 0;
 
     @Column
     private Integer daysSinceAssignment = 0;
 
-    @Column
+    // Denormalized counters, changed only by the atomic increments in ComplaintRepository
+    // (never by entity updates, so a stale copy can't overwrite them) and repaired by
+    // ComplaintCounterReconciler
+    @Builder.Default
+    @Column(updatable = false, columnDefinition = "BIGINT DEFAULT 0")
     private Long attachmentCount = 0L;
 
+    @Builder.Default
+    @Column(updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long likeCount = 0L;
+
+    @Builder.Default
+    @Column(updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long commentCount = 0L;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime assignedAt;
 
-    @PrePersist
-    protected void onCreate() {
+    // State as last read from / written to the database, used to diff aggregate counters
+    @Transient
+    @JsonIgnore
+    private ComplaintSnapshot loadedState;
+
+    // Called by ComplaintEntityListener before insert, with escalation.threshold.minutes
+    public void onCreate(Duration escalationThreshold) {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
         lastStatusChangeDate = LocalDateTime.now();
@@ -88,15 +125,18 @@ public class Complaint {
         isPublic = !anonymous;
         if (status == null) status = ComplaintState.NEW;
         if (attachmentCount == null) attachmentCount = 0L;
+        if (likeCount == null) likeCount = 0L;
+        if (commentCount == null) commentCount = 0L;
         calculateDays();
-        checkEscalationRequirement();
+        checkEscalationRequirement(escalationThreshold);
+        refreshEscalationDue(escalationThreshold);
     }
 
-    @PreUpdate
-    protected void onUpdate() {
+    // Called by ComplaintEntityListener before update, with escalation.threshold.minutes
+    public void onUpdate(Duration escalationThreshold) {
         updatedAt = LocalDateTime.now();
         calculateDays();
-        checkEscalationRequirement();
+        checkEscalationRequirement(escalationThreshold);
 
         if (status != null && (status == ComplaintState.UNDER_REVIEW || status == ComplaintState.RESOLVED)) {
             lastStatusChangeDate = LocalDateTime.now();
@@ -106,6 +146,22 @@ public class Complaint {
         if (assignedEmployee != null && assignedAt == null) {
             assignedAt = LocalDateTime.now();
         }
+
+        refreshEscalationDue(escalationThreshold);
+    }
+
+    // Mirrors the conditions of ComplaintRepository.findComplaintsForEscalation as a single deadline
+    private void refreshEscalationDue(Duration escalationThreshold) {
+        if (escalatedTo != null || status == ComplaintState.RESOLVED || createdAt == null) {
+            escalationDueAt = null;
+            return;
+        }
+
+        LocalDateTime start = createdAt;
+        if (assignedEmployee != null && lastStatusChangeDate != null && lastStatusChangeDate.isBefore(start)) {
+            start = lastStatusChangeDate;
+        }
+        escalationDueAt = start.plus(escalationThreshold);
     }
 
     private void calculateDays() {
@@ -118,16 +174,15 @@ public class Complaint {
         }
     }
 
-    private void checkEscalationRequirement() {
+    private void checkEscalationRequirement(Duration escalationThreshold) {
         // Skip if already escalated or resolved
         if (escalatedTo != null || status == ComplaintState.RESOLVED) {
             requiresEscalation = false;
             return;
         }
 
-        // Calculate threshold (7 days for production, minutes for testing)
-        // For testing: 7 minutes, for production: 7 days = 10080 minutes
-        int thresholdMinutes = 7; // For testing - change to 10080 for 7 days
+        // Same threshold as the auto-escalation job (escalation.threshold.minutes)
+        int thresholdMinutes = (int) escalationThreshold.toMinutes();
 
         LocalDateTime thresholdDate = LocalDateTime.now().minusMinutes(thresholdMinutes);
 
@@ -0,0 +1,67 @@
+package com.resolveit.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of complaints created in one time bucket, broken down by a single
+ * dimension, e.g. (DAY, 2024-03-01, CATEGORY, "Water") -> 7.
+ * Trend charts read a short range of these rows instead of grouping the
+ * complaints table by DATE(createdAt).
+ */
+@Entity
+@Table(name = "complaint_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_complaint_rollups_bucket",
+                        columnNames = {"granularity", "dimension", "dim_key", "bucket_start"})
+        },
+        indexes = {
+                // Lets the backfill lock one day of buckets at a time
+                @Index(name = "idx_complaint_rollups_bucket_start", columnList = "bucket_start")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintRollup {
+
+    public enum Granularity {
+        HOUR,
+        DAY
+    }
+
+    public enum Dimension {
+        TOTAL,
+        CATEGORY,
+        STATUS,
+        URGENCY,
+        ASSIGNEE,
+        HANDLER,    // assigned or escalated-to employee, counted once per complaint
+        SUBMITTER
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Granularity granularity;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Dimension dimension;
+
+    @Column(name = "dim_key", nullable = false)
+    private String dimKey;
+
+    @Column(name = "complaint_count", nullable = false)
+    private Long count = 0L;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,53 @@
+package com.resolveit.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One pre-aggregated dashboard counter, e.g. (STATUS, RESOLVED) -> 42.
+ * Rows are maintained by ComplaintStatsService in the same transaction as
+ * the complaint write that changes them.
+ */
+@Entity
+@Table(name = "complaint_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"dimension", "bucket"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintStat {
+
+    public enum Dimension {
+        TOTAL,
+        STATUS,
+        CATEGORY,
+        URGENCY,
+        ESCALATED,
+        PAST_DUE,
+        RESOLUTION_HOURS,
+        // Count of committed complaint and user profile writes, never reset (see ExportCacheService)
+        WRITES
+    }
+
+    public static final String ALL = "ALL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Dimension dimension;
+
+    @Column(nullable = false)
+    private String bucket;
+
+    @Column(name = "stat_value", nullable = false)
+    private Long value = 0L;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,104 @@
+package com.resolveit.model;
+
+import com.resolveit.service.ExportFormat;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A background export, shared by every backend instance so a job can be
+ * polled and downloaded through any of them and survives a restart. The file
+ * itself is written by the instance in {@code nodeId}. Rows are maintained by
+ * ExportJobService.
+ */
+@Entity
+@Table(name = "export_jobs", indexes = {
+        @Index(name = "idx_export_jobs_user_created_at", columnList = "user_id, created_at"),
+        @Index(name = "idx_export_jobs_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ExportJob {
+
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    public enum Type {
+        COMPLAINTS,
+        PERFORMANCE,
+        DASHBOARD
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ExportFormat format;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "export_job_filters", joinColumns = @JoinColumn(name = "job_id"))
+    @MapKeyColumn(name = "filter_name", length = 50)
+    @Column(name = "filter_value")
+    private Map<String, String> filters = new HashMap<>();
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.QUEUED;
+
+    // JobLeaseService node id of the instance running the job
+    @Column(name = "node_id", length = 200)
+    private String nodeId;
+
+    @Column(name = "rows_written", nullable = false)
+    private long rowsWritten;
+
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(nullable = false)
+    private boolean truncated;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public String getFileName() {
+        return String.format("%s_%s.%s", type.name().toLowerCase(), id, format.getExtension());
+    }
+}
@@ -0,0 +1,34 @@
+package com.resolveit.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A time-limited claim on a scheduled job, shared by every backend instance.
+ * Whoever holds an unexpired lease for a job name is the only node allowed to
+ * run it. Each node also keeps a "node:&lt;id&gt;" lease alive as its
+ * membership heartbeat. Rows are maintained by JobLeaseService.
+ */
+@Entity
+@Table(name = "job_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(length = 200)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+}
@@ -0,0 +1,58 @@
+package com.resolveit.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One bucket of a resolution-time histogram: how many complaints resolved on
+ * {@code day} took a number of minutes falling in bucket {@code bucketIndex}
+ * (see ResolutionSketch for the bucket layout). A sketch for any range of days
+ * is the bucket-wise sum of these rows.
+ */
+@Entity
+@Table(name = "resolution_sketch_buckets",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_resolution_sketch_bucket",
+                        columnNames = {"dimension", "dim_key", "bucket_day", "bucket_index"})
+        },
+        indexes = {
+                // Lets the rebuild lock one day of buckets at a time
+                @Index(name = "idx_resolution_sketch_buckets_day", columnList = "bucket_day")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolutionSketchBucket {
+
+    public enum Dimension {
+        ALL,
+        CATEGORY,
+        EMPLOYEE    // assigned or escalated-to employee, counted once per complaint
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Dimension dimension;
+
+    @Column(name = "dim_key", nullable = false)
+    private String dimKey;
+
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "bucket_index", nullable = false)
+    private Integer bucketIndex;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long count = 0L;
+
+    private LocalDateTime updatedAt;
+}
@@ -1,6 +1,7 @@
 package com.resolveit.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.resolveit.event.UserEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -12,6 +13,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,6 +51,11 @@ public class User {
     @Column
     private LocalDateTime lastLoginAt;
 
+    // Name and email as last read from / written to the database (see UserEntityListener)
+    @Transient
+    @JsonIgnore
+    private String loadedProfile;
+
     @JsonIgnore
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<EmployeeRequest> employeeRequests;
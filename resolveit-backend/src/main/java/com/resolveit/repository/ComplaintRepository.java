@@ -1,14 +1,28 @@
 package com.resolveit.repository;
 
+import com.resolveit.dto.EmployeeWorkloadItem;
+import com.resolveit.dto.ComplaintFilter;
 import com.resolveit.model.Complaint;
+import com.resolveit.model.ComplaintState;
+import com.resolveit.model.Urgency;
 import com.resolveit.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
@@ -20,8 +34,6 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     // Fixed: Get complaints escalated to a user
     List<Complaint> findByEscalatedTo(User user);
 
-    List<Complaint> findByIsPublicTrueOrderByCreatedAtDesc();
-
     // NEW: Find complaints by user where anonymous is false (for "My Complaints" page)
     @Query("SELECT c FROM Complaint c WHERE c.user = :user AND c.anonymous = false ORDER BY c.createdAt DESC")
     List<Complaint> findByUserAndAnonymousFalse(@Param("user") User user);
@@ -64,6 +76,92 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
             "ORDER BY c.createdAt ASC") // Oldest first
     List<Complaint> findComplaintsForEscalation(@Param("thresholdDate") LocalDateTime thresholdDate);
 
+    // Complaints whose escalation deadline has passed (range scan on idx_complaints_escalation_due_at)
+    @Query("SELECT c.id FROM Complaint c WHERE c.escalationDueAt <= :now ORDER BY c.escalationDueAt")
+    List<Long> findComplaintIdsDueForEscalation(@Param("now") LocalDateTime now);
+
+    @Query("SELECT c.id FROM Complaint c WHERE c.escalationDueAt <= :now " +
+            "AND c.id >= :fromId AND c.id < :toId ORDER BY c.escalationDueAt")
+    List<Long> findComplaintIdsDueForEscalationInRange(@Param("now") LocalDateTime now,
+                                                       @Param("fromId") Long fromId,
+                                                       @Param("toId") Long toId);
+
+    // Row-locks the complaints for the rest of the transaction (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Complaint c WHERE c.id IN :ids")
+    List<Complaint> findAllByIdForUpdate(@Param("ids") List<Long> ids);
+
+    @Query("SELECT MAX(c.id) FROM Complaint c")
+    Long findMaxId();
+
+    @Query("SELECT c FROM Complaint c WHERE c.escalationDueAt <= :now ORDER BY c.escalationDueAt")
+    List<Complaint> findComplaintsDueForEscalation(@Param("now") LocalDateTime now);
+
+    // Earliest pending deadline, read from the end of the index
+    @Query("SELECT MIN(c.escalationDueAt) FROM Complaint c")
+    LocalDateTime findNextEscalationDue();
+
+    // Deadline of a complaint row for a threshold of :minutes, as Complaint.refreshEscalationDue computes it
+    String ESCALATION_DUE = "CASE " +
+            "WHEN escalated_to_id IS NOT NULL OR status = 'RESOLVED' OR created_at IS NULL THEN NULL " +
+            "WHEN assigned_employee_id IS NOT NULL AND last_status_change_date < created_at " +
+            "THEN TIMESTAMPADD(MINUTE, :minutes, last_status_change_date) " +
+            "ELSE TIMESTAMPADD(MINUTE, :minutes, created_at) END";
+
+    // Recomputes every pending deadline for the configured threshold (rows written before
+    // the column existed, or under a different threshold); only rows whose deadline
+    // changes are written, so a restart with the same threshold writes nothing
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE complaints SET escalation_due_at = " + ESCALATION_DUE +
+            " WHERE NOT (escalation_due_at <=> " + ESCALATION_DUE + ")",
+            nativeQuery = true)
+    int recomputeEscalationDue(@Param("minutes") long thresholdMinutes);
+
+    // Denormalized counters: adjusted in place so concurrent writers never lose an update.
+    // Native statements bypass the entity listener; a counter change is not a complaint change.
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE complaints SET like_count = COALESCE(like_count, 0) + :delta WHERE id = :id",
+            nativeQuery = true)
+    int adjustLikeCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE complaints SET comment_count = COALESCE(comment_count, 0) + :delta WHERE id = :id",
+            nativeQuery = true)
+    int adjustCommentCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE complaints SET attachment_count = COALESCE(attachment_count, 0) + :delta WHERE id = :id",
+            nativeQuery = true)
+    int adjustAttachmentCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Query(value = "SELECT COALESCE(like_count, 0) FROM complaints WHERE id = :id", nativeQuery = true)
+    Optional<Long> findLikeCount(@Param("id") Long id);
+
+    // Workload counters of every employee who handles complaints, in one pass: id, escalated to
+    // them, of those resolved, and unresolved non-escalated complaints assigned to them
+    @Query("SELECT u.id, " +
+            "SUM(CASE WHEN c.escalatedTo = u THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN c.escalatedTo = u AND c.status = 'RESOLVED' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN c.assignedEmployee = u AND c.escalatedTo IS NULL " +
+            "AND c.status != 'RESOLVED' THEN 1 ELSE 0 END) " +
+            "FROM Complaint c JOIN User u ON c.escalatedTo = u OR c.assignedEmployee = u " +
+            "GROUP BY u.id")
+    List<Object[]> getHandlerWorkloads();
+
+    // Escalation load of the users with a role, as SeniorWorkloadIndex.Workload.totalLoad counts it: id, load
+    @Query("SELECT u.id, COUNT(c) FROM Complaint c JOIN User u ON c.escalatedTo = u " +
+            "OR (c.assignedEmployee = u AND c.escalatedTo IS NULL AND c.status != 'RESOLVED') " +
+            "WHERE u.role = :role GROUP BY u.id")
+    List<Object[]> getHandlerLoadsByRole(@Param("role") User.Role role);
+
+    // Engagement of every public complaint from its counter columns: id, createdAt, likes, comments
+    @Query("SELECT c.id, c.createdAt, c.likeCount, c.commentCount FROM Complaint c WHERE c.isPublic = true")
+    List<Object[]> getPublicEngagement();
+
     // Dashboard statistics queries
     @Query("SELECT c.category, COUNT(c) FROM Complaint c GROUP BY c.category")
     List<Object[]> getComplaintsCountByCategory();
@@ -72,15 +170,122 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
             "WHERE c.createdAt >= :startDate GROUP BY DATE(c.createdAt)")
     List<Object[]> getDailyComplaints(@Param("startDate") LocalDateTime startDate);
 
-    @Query("SELECT c FROM Complaint c WHERE " +
+    // Newest first, bounded by the page size (uses idx_complaints_created_at)
+    List<Complaint> findByOrderByCreatedAtDesc(Pageable pageable);
+
+    // Employee workload: complaints assigned to OR escalated to the employee, one row per
+    // complaint, scalar columns only (no User joins)
+    @Query("SELECT new com.resolveit.dto.EmployeeWorkloadItem(c.id, c.category, c.status, c.urgency, " +
+            "c.createdAt, c.updatedAt, c.lastStatusChangeDate, c.assignedEmployee.id, c.escalatedTo.id) " +
+            "FROM Complaint c WHERE c.assignedEmployee.id = :employeeId OR c.escalatedTo.id = :employeeId")
+    List<EmployeeWorkloadItem> findEmployeeWorkload(@Param("employeeId") Long employeeId);
+
+    // Keyset-paginated export reads. Every filter is bound into the query so MySQL can use
+    // idx_complaints_created_at / the (status|category, created_at) indexes; each chunk
+    // resumes after the last (createdAt, id) seen. Users are join-fetched so rendering a
+    // row never triggers extra selects. Category matching relies on the column's
+    // case-insensitive collation.
+    String EXPORT_SELECT = "SELECT c FROM Complaint c LEFT JOIN FETCH c.user " +
+            "LEFT JOIN FETCH c.assignedEmployee LEFT JOIN FETCH c.escalatedTo ";
+
+    // Export filter, scoped to a submitter (userId) or handler (handlerId) when either is set
+    String FILTER_CONDITIONS = "(:userId IS NULL OR c.user.id = :userId) AND " +
+            "(:handlerId IS NULL OR c.assignedEmployee.id = :handlerId OR c.escalatedTo.id = :handlerId) AND " +
             "(:status IS NULL OR c.status = :status) AND " +
             "(:category IS NULL OR c.category = :category) AND " +
+            "(:urgency IS NULL OR c.urgency = :urgency) AND " +
             "(:startDate IS NULL OR c.createdAt >= :startDate) AND " +
-            "(:endDate IS NULL OR c.createdAt <= :endDate)")
-    List<Complaint> findWithFilters(@Param("status") String status,
-                                    @Param("category") String category,
-                                    @Param("startDate") LocalDateTime startDate,
-                                    @Param("endDate") LocalDateTime endDate);
+            "(:endDate IS NULL OR c.createdAt <= :endDate) ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(EXPORT_SELECT + "WHERE " + FILTER_CONDITIONS + "AND " +
+            "(:afterCreatedAt IS NULL OR c.createdAt > :afterCreatedAt " +
+            "OR (c.createdAt = :afterCreatedAt AND c.id > :afterId)) " +
+            "ORDER BY c.createdAt, c.id")
+    List<Complaint> findFilteredChunk(@Param("userId") Long userId,
+                                      @Param("handlerId") Long handlerId,
+                                      @Param("status") ComplaintState status,
+                                      @Param("category") String category,
+                                      @Param("urgency") Urgency urgency,
+                                      @Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate,
+                                      @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                      @Param("afterId") Long afterId,
+                                      Pageable chunk);
+
+    // Public complaints by primary key, users fetched in the same query
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(EXPORT_SELECT + "WHERE c.isPublic = true AND c.id IN :ids")
+    List<Complaint> findPublicByIdIn(@Param("ids") List<Long> ids);
+
+    // One page of the public feed, newest first, starting after the (beforeCreatedAt, beforeId)
+    // cursor; served by the idx_complaints_public_* indexes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(EXPORT_SELECT + "WHERE c.isPublic = true AND " +
+            "(:status IS NULL OR c.status = :status) AND " +
+            "(:category IS NULL OR c.category = :category) AND " +
+            "(:urgency IS NULL OR c.urgency = :urgency) AND " +
+            "(:beforeCreatedAt IS NULL OR c.createdAt < :beforeCreatedAt " +
+            "OR (c.createdAt = :beforeCreatedAt AND c.id < :beforeId)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Complaint> findPublicFeedPage(@Param("status") ComplaintState status,
+                                       @Param("category") String category,
+                                       @Param("urgency") Urgency urgency,
+                                       @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable page);
+
+    // Next chunk for a filter, scoped to a submitter (userId) or handler (handlerId), or
+    // unscoped when both are null; pass the last complaint of the previous chunk, or null
+    default List<Complaint> findFilteredChunk(ComplaintFilter filter, Long userId, Long handlerId,
+                                              Complaint after, int chunkSize) {
+        return findFilteredChunk(userId, handlerId, filter.getStatus(), filter.getCategory(),
+                filter.getUrgency(), filter.getStartDate(), filter.getEndDate(),
+                after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null,
+                PageRequest.of(0, chunkSize));
+    }
+
+    // Performance report totals for a filter, per (status, category, urgency): status, category,
+    // urgency, complaints, escalated, resolved with both timestamps, and their summed whole hours
+    // from creation to last update
+    @Query("SELECT c.status, c.category, c.urgency, COUNT(c), " +
+            "SUM(CASE WHEN c.escalatedTo IS NOT NULL THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN c.status = 'RESOLVED' AND c.createdAt IS NOT NULL AND c.updatedAt IS NOT NULL THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN c.status = 'RESOLVED' AND c.createdAt IS NOT NULL AND c.updatedAt IS NOT NULL " +
+            "THEN (c.updatedAt - c.createdAt) BY HOUR ELSE 0 END) " +
+            "FROM Complaint c WHERE " + FILTER_CONDITIONS +
+            "GROUP BY c.status, c.category, c.urgency")
+    List<Object[]> getFilteredBreakdown(@Param("userId") Long userId,
+                                        @Param("handlerId") Long handlerId,
+                                        @Param("status") ComplaintState status,
+                                        @Param("category") String category,
+                                        @Param("urgency") Urgency urgency,
+                                        @Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate);
+
+    default List<Object[]> getFilteredBreakdown(ComplaintFilter filter, Long userId, Long handlerId) {
+        return getFilteredBreakdown(userId, handlerId, filter.getStatus(), filter.getCategory(),
+                filter.getUrgency(), filter.getStartDate(), filter.getEndDate());
+    }
+
+    // Aggregate counter reconciliation (see ComplaintStatsService)
+    @Query("SELECT c.status, COUNT(c) FROM Complaint c GROUP BY c.status")
+    List<Object[]> getComplaintsCountByStatus();
+
+    @Query("SELECT c.urgency, COUNT(c) FROM Complaint c GROUP BY c.urgency")
+    List<Object[]> getComplaintsCountByUrgency();
+
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.escalatedTo IS NOT NULL")
+    Long countEscalatedComplaints();
+
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.status = 'UNDER_REVIEW' " +
+            "AND c.lastStatusChangeDate < :dueDate")
+    Long countPastDueComplaints(@Param("dueDate") LocalDateTime dueDate);
+
+    @Query(value = "SELECT COALESCE(SUM(TIMESTAMPDIFF(HOUR, created_at, updated_at)), 0) FROM complaints " +
+            "WHERE status = 'RESOLVED' AND created_at IS NOT NULL AND updated_at IS NOT NULL",
+            nativeQuery = true)
+    Long sumResolutionHours();
 
     // Find complaints with attachments
     @Query("SELECT c FROM Complaint c WHERE c.id IN " +
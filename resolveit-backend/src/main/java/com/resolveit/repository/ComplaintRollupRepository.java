@@ -0,0 +1,20 @@
+package com.resolveit.repository;
+
+import com.resolveit.model.ComplaintRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ComplaintRollupRepository extends JpaRepository<ComplaintRollup, Long> {
+
+    // Range read on uk_complaint_rollups_bucket (granularity, dimension, dim_key, bucket_start)
+    List<ComplaintRollup> findByGranularityAndDimensionAndDimKeyAndBucketStartBetween(
+            ComplaintRollup.Granularity granularity,
+            ComplaintRollup.Dimension dimension,
+            String dimKey,
+            LocalDateTime from,
+            LocalDateTime to);
+}
@@ -0,0 +1,9 @@
+package com.resolveit.repository;
+
+import com.resolveit.model.ComplaintStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ComplaintStatRepository extends JpaRepository<ComplaintStat, Long> {
+}
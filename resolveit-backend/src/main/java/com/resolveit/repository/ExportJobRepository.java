@@ -0,0 +1,38 @@
+package com.resolveit.repository;
+
+import com.resolveit.model.ExportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, String> {
+
+    List<ExportJob> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    long countByUserIdAndStatusIn(Long userId, Collection<ExportJob.Status> statuses);
+
+    List<ExportJob> findByStatusIn(Collection<ExportJob.Status> statuses);
+
+    List<ExportJob> findByFinishedAtBefore(LocalDateTime cutoff);
+
+    // Progress of a running job, written without touching the rest of the row
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExportJob j SET j.rowsWritten = :rows WHERE j.id = :id AND j.status = 'RUNNING'")
+    int updateProgress(@Param("id") String id, @Param("rows") long rows);
+
+    // Marks a job failed only if it has not finished in the meantime
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExportJob j SET j.status = 'FAILED', j.error = :error, j.finishedAt = :now " +
+            "WHERE j.id = :id AND j.status IN ('QUEUED', 'RUNNING')")
+    int markFailed(@Param("id") String id, @Param("error") String error, @Param("now") LocalDateTime now);
+}
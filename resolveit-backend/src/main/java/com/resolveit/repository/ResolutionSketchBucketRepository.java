@@ -0,0 +1,31 @@
+package com.resolveit.repository;
+
+import com.resolveit.model.ResolutionSketchBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ResolutionSketchBucketRepository extends JpaRepository<ResolutionSketchBucket, Long> {
+
+    // Per-day sketches merged for one key: rows of (bucketIndex, count)
+    @Query("SELECT b.bucketIndex, SUM(b.count) FROM ResolutionSketchBucket b " +
+            "WHERE b.dimension = :dimension AND b.dimKey = :dimKey AND b.day BETWEEN :from AND :to " +
+            "GROUP BY b.bucketIndex")
+    List<Object[]> mergeBuckets(@Param("dimension") ResolutionSketchBucket.Dimension dimension,
+                                @Param("dimKey") String dimKey,
+                                @Param("from") LocalDate from,
+                                @Param("to") LocalDate to);
+
+    // Per-day sketches merged for every key of a dimension: rows of (dimKey, bucketIndex, count)
+    @Query("SELECT b.dimKey, b.bucketIndex, SUM(b.count) FROM ResolutionSketchBucket b " +
+            "WHERE b.dimension = :dimension AND b.day BETWEEN :from AND :to " +
+            "GROUP BY b.dimKey, b.bucketIndex")
+    List<Object[]> mergeBucketsByKey(@Param("dimension") ResolutionSketchBucket.Dimension dimension,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+}
@@ -1,13 +1,24 @@
 package com.resolveit.repository;
 
 import com.resolveit.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    List<User> findByRole(User.Role role);
+
+    // Locks the users with this role in id order, so concurrent callers queue up behind each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.role = :role ORDER BY u.id")
+    List<User> findByRoleForUpdate(@Param("role") User.Role role);
 }
\ No newline at end of file
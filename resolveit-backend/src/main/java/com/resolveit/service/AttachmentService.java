@@ -0,0 +1,56 @@
+package com.resolveit.service;
+
+import com.resolveit.model.Attachment;
+import com.resolveit.model.Complaint;
+import com.resolveit.repository.AttachmentRepository;
+import com.resolveit.repository.ComplaintRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Writes attachment records together with the complaint's attachment counter,
+ * so both commit or roll back as one. Files on disk are handled by the caller.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttachmentService {
+
+    private final AttachmentRepository attachmentRepository;
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintActivityService activityService;
+
+    @Transactional
+    public Attachment addAttachment(Long complaintId, String filename, Path filePath) {
+        Complaint complaint = complaintRepository.findById(complaintId)
+                .orElseThrow(() -> new RuntimeException("Complaint not found"));
+
+        Attachment attachment = new Attachment();
+        attachment.setFilename(filename);
+        attachment.setFilePath(filePath.toAbsolutePath().toString());
+        attachment.setComplaint(complaint);
+        attachment.setUploadedAt(LocalDateTime.now());
+
+        Attachment saved = attachmentRepository.save(attachment);
+        activityService.attachmentsAdded(complaint, 1);
+
+        log.info("📎 Attachment {} added to complaint {}", saved.getId(), complaintId);
+        return saved;
+    }
+
+    @Transactional
+    public void deleteAttachment(Long attachmentId) {
+        Attachment attachment = attachmentRepository.findById(attachmentId)
+                .orElseThrow(() -> new RuntimeException("Attachment not found"));
+
+        attachmentRepository.delete(attachment);
+        activityService.attachmentRemoved(attachment.getComplaint());
+
+        log.info("🗑️ Attachment {} removed from complaint {}", attachmentId, attachment.getComplaint().getId());
+    }
+}
@@ -0,0 +1,57 @@
+package com.resolveit.service;
+
+import com.resolveit.event.ComplaintActivityEvent;
+import com.resolveit.event.ComplaintActivityEvent.Type;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.model.Complaint;
+import com.resolveit.repository.ComplaintRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records likes, comments and attachments against their complaint: moves the
+ * stored counter in the caller's transaction and publishes a
+ * {@link ComplaintActivityEvent} for the caches and rankings that show it.
+ */
+@Service
+@RequiredArgsConstructor
+public class ComplaintActivityService {
+
+    private final ComplaintRepository complaintRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void likeAdded(Complaint complaint) {
+        complaintRepository.adjustLikeCount(complaint.getId(), 1);
+        eventPublisher.publishEvent(new ComplaintActivityEvent(ComplaintSnapshot.of(complaint), Type.LIKE_ADDED, 1));
+    }
+
+    @Transactional
+    public void likeRemoved(Complaint complaint) {
+        complaintRepository.adjustLikeCount(complaint.getId(), -1);
+        eventPublisher.publishEvent(new ComplaintActivityEvent(ComplaintSnapshot.of(complaint), Type.LIKE_REMOVED, 1));
+    }
+
+    @Transactional
+    public void commentAdded(Complaint complaint) {
+        complaintRepository.adjustCommentCount(complaint.getId(), 1);
+        eventPublisher.publishEvent(new ComplaintActivityEvent(ComplaintSnapshot.of(complaint), Type.COMMENT_ADDED, 1));
+    }
+
+    @Transactional
+    public void attachmentsAdded(Complaint complaint, int count) {
+        if (count <= 0) {
+            return;
+        }
+        complaintRepository.adjustAttachmentCount(complaint.getId(), count);
+        eventPublisher.publishEvent(new ComplaintActivityEvent(ComplaintSnapshot.of(complaint), Type.ATTACHMENT_ADDED, count));
+    }
+
+    @Transactional
+    public void attachmentRemoved(Complaint complaint) {
+        complaintRepository.adjustAttachmentCount(complaint.getId(), -1);
+        eventPublisher.publishEvent(new ComplaintActivityEvent(ComplaintSnapshot.of(complaint), Type.ATTACHMENT_REMOVED, 1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.resolveit.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repairs the like, comment and attachment counters stored on complaints.
+ *
+ * The counters move with atomic increments in the same transaction as the row
+ * they count, so drift only comes from writes that bypass the application
+ * (manual SQL, cascaded deletes) or a request that failed between the two
+ * statements. One grouped query finds the complaints whose stored counts
+ * disagree with the real ones, and only those rows are rewritten, each from
+ * its own COUNT subqueries. Also runs at startup to fill in the columns for
+ * complaints created before they existed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComplaintCounterReconciler {
+
+    private static final String FIND_DRIFT_SQL =
+            "SELECT c.id FROM complaints c " +
+            "LEFT JOIN (SELECT complaint_id, COUNT(*) AS n FROM complaint_likes GROUP BY complaint_id) l " +
+            "ON l.complaint_id = c.id " +
+            "LEFT JOIN (SELECT complaint_id, COUNT(*) AS n FROM complaint_comments GROUP BY complaint_id) m " +
+            "ON m.complaint_id = c.id " +
+            "LEFT JOIN (SELECT complaint_id, COUNT(*) AS n FROM attachments GROUP BY complaint_id) a " +
+            "ON a.complaint_id = c.id " +
+            "WHERE NOT (c.like_count <=> COALESCE(l.n, 0)) " +
+            "OR NOT (c.comment_count <=> COALESCE(m.n, 0)) " +
+            "OR NOT (c.attachment_count <=> COALESCE(a.n, 0))";
+
+    private static final String REPAIR_SQL =
+            "UPDATE complaints SET " +
+            "like_count = (SELECT COUNT(*) FROM complaint_likes WHERE complaint_id = ?), " +
+            "comment_count = (SELECT COUNT(*) FROM complaint_comments WHERE complaint_id = ?), " +
+            "attachment_count = (SELECT COUNT(*) FROM attachments WHERE complaint_id = ?) " +
+            "WHERE id = ?";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseService jobLeaseService;
+    private final ContentVersionService contentVersionService;
+    private final PublicFeedSnapshot publicFeedSnapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeCounters() {
+        repairCounters();
+    }
+
+    @Scheduled(cron = "${counters.reconcile.cron:0 45 * * * ?}")
+    public void reconcileCounters() {
+        // Held for the rest of the hour so other instances skip this window
+        if (!jobLeaseService.tryAcquire("complaint-counters-reconcile", Duration.ofMinutes(30))) {
+            return;
+        }
+        repairCounters();
+    }
+
+    private void repairCounters() {
+        List<Long> drifted = jdbcTemplate.queryForList(FIND_DRIFT_SQL, Long.class);
+        if (drifted.isEmpty()) {
+            log.debug("✅ Complaint like/comment/attachment counters are consistent");
+            return;
+        }
+
+        for (int from = 0; from < drifted.size(); from += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>();
+            for (Long id : drifted.subList(from, Math.min(from + BATCH_SIZE, drifted.size()))) {
+                batch.add(new Object[]{id, id, id, id});
+            }
+            jdbcTemplate.batchUpdate(REPAIR_SQL, batch);
+        }
+        // The repair bypasses the complaint events, so cached counts must be revalidated
+        contentVersionService.invalidateAll();
+        publicFeedSnapshot.requestRebuild();
+        log.warn("⚠️ Repaired like/comment/attachment counters on {} complaints", drifted.size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.resolveit.service;
+
+import com.resolveit.model.Complaint;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes the complaints sheet with POI's streaming (SXSSF) workbook.
+ *
+ * Only the last {@link #ROW_WINDOW} rows are kept in memory; older rows are
+ * flushed to a compressed temp file that is deleted once the workbook has been
+ * written. Column widths are computed from the longest value seen per column
+ * instead of autoSizeColumn(), which would need every row in memory.
+ */
+public final class ComplaintExcelWriter {
+
+    static final int ROW_WINDOW = 100;
+
+    // Widths are in characters; long free-text columns are capped
+    private static final int MIN_WIDTH = 8;
+    private static final int MAX_WIDTH = 60;
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private ComplaintExcelWriter() {
+    }
+
+    public static long write(Iterable<Complaint> complaints, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, ROW_WINDOW, true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Complaints");
+            String[] headers = ExportService.COMPLAINT_HEADERS;
+            int[] widths = new int[headers.length];
+
+            CellStyle headerStyle = workbook.createCellStyle();
+            org.apache.poi.ss.usermodel.Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+
+            org.apache.poi.ss.usermodel.Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                org.apache.poi.ss.usermodel.Cell cell = headerRow.createCell(i);
+                cell.setCellValue(headers[i]);
+                cell.setCellStyle(headerStyle);
+                widths[i] = headers[i].length();
+            }
+
+            int rowNum = 1;
+            for (Complaint complaint : complaints) {
+                org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum++);
+
+                row.createCell(0).setCellValue(complaint.getId());
+                track(widths, 0, String.valueOf(complaint.getId()));
+                setText(row, widths, 1, complaint.getTitle());
+                setText(row, widths, 2, complaint.getCategory());
+                setText(row, widths, 3, complaint.getDescription());
+                setText(row, widths, 4, complaint.getStatus().name());
+                setText(row, widths, 5, complaint.getUrgency().name());
+                setText(row, widths, 6, complaint.getAnonymous() ? "Yes" : "No");
+                setText(row, widths, 7, complaint.getCreatedAt().format(FORMATTER));
+                setText(row, widths, 8, complaint.getUpdatedAt().format(FORMATTER));
+                setText(row, widths, 9,
+                        complaint.getUser() != null ? complaint.getUser().getFullName() : "Anonymous");
+                setText(row, widths, 10,
+                        complaint.getUser() != null ? complaint.getUser().getEmail() : "");
+                setText(row, widths, 11,
+                        complaint.getAssignedEmployee() != null ?
+                                complaint.getAssignedEmployee().getFullName() : "");
+                setText(row, widths, 12,
+                        complaint.getEscalatedTo() != null ?
+                                complaint.getEscalatedTo().getFullName() : "");
+                setText(row, widths, 13,
+                        complaint.getEscalationReason() != null ?
+                                complaint.getEscalationReason() : "");
+            }
+
+            for (int i = 0; i < widths.length; i++) {
+                int chars = Math.max(MIN_WIDTH, Math.min(MAX_WIDTH, widths[i] + 2));
+                sheet.setColumnWidth(i, chars * 256);
+            }
+
+            workbook.write(out);
+            return rowNum - 1L;
+        } finally {
+            // Removes the temp file backing the flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static void setText(org.apache.poi.ss.usermodel.Row row, int[] widths, int column, String value) {
+        row.createCell(column).setCellValue(value);
+        track(widths, column, value);
+    }
+
+    private static void track(int[] widths, int column, String value) {
+        if (value != null && value.length() > widths[column]) {
+            widths[column] = value.length();
+        }
+    }
+}
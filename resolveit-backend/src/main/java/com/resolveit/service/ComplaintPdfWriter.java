@@ -0,0 +1,149 @@
+package com.resolveit.service;
+
+import com.lowagie.text.*;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.resolveit.model.Complaint;
+import com.resolveit.model.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Writes the complaints PDF report page by page.
+ *
+ * The table is marked incomplete and handed to the document every
+ * {@link #CHUNK_ROWS} rows, so OpenPDF lays out and writes the finished pages
+ * and drops those rows; only the current chunk is ever held in memory. The
+ * header row repeats on every page. Fonts are created once per class rather
+ * than looked up through FontFactory on every report, and cells take their
+ * padding from the table's default cell instead of being styled one by one.
+ *
+ * The complaint total is only known at the end, so it is printed below the
+ * table.
+ */
+public final class ComplaintPdfWriter {
+
+    static final int CHUNK_ROWS = 200;
+
+    private static final String[] HEADERS = {"ID", "Title", "Category", "Status", "Urgency",
+            "Created", "Days Open", "User", "Employee", "Escalated"};
+
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
+    private static final Font INFO_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
+    private static final Font DATA_FONT = FontFactory.getFont(FontFactory.HELVETICA, 8);
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private ComplaintPdfWriter() {
+    }
+
+    /**
+     * Writes the report to {@code out} and returns the number of complaints written.
+     * {@code out} is flushed but left open.
+     */
+    public static long write(Iterable<Complaint> complaints, User user, Map<String, String> filters,
+                             OutputStream out) throws IOException {
+        Document document = new Document(PageSize.A4.rotate());
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            document.open();
+
+            LocalDateTime now = LocalDateTime.now();
+            addHeading(document, user, filters, now);
+
+            PdfPTable table = new PdfPTable(HEADERS.length);
+            table.setWidthPercentage(100);
+            table.setHeaderRows(1);
+            table.setComplete(false);
+
+            PdfPCell style = table.getDefaultCell();
+            style.setPadding(5);
+            style.setHorizontalAlignment(Element.ALIGN_CENTER);
+            for (String header : HEADERS) {
+                table.addCell(new Phrase(header, HEADER_FONT));
+            }
+            style.setHorizontalAlignment(Element.ALIGN_LEFT);
+
+            long rows = 0;
+            for (Complaint complaint : complaints) {
+                addRow(table, complaint, now);
+                if (++rows % CHUNK_ROWS == 0) {
+                    // Lays out and writes the completed rows, then releases them
+                    document.add(table);
+                }
+            }
+            table.setComplete(true);
+            document.add(table);
+
+            Paragraph total = new Paragraph(String.format("Total Complaints: %d", rows), INFO_FONT);
+            total.setSpacingBefore(10);
+            document.add(total);
+
+            document.close();
+            out.flush();
+            return rows;
+        } catch (DocumentException e) {
+            // A failed document is abandoned rather than closed; closing it would only
+            // replace this error with "The document has no pages"
+            throw new IOException("Failed to generate PDF: " + e.getMessage(), e);
+        }
+    }
+
+    private static void addHeading(Document document, User user, Map<String, String> filters,
+                                   LocalDateTime now) throws DocumentException {
+        Paragraph title = new Paragraph("Complaints Export Report", TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(20);
+        document.add(title);
+
+        Paragraph userInfo = new Paragraph(
+                String.format("Generated by: %s (%s) | Role: %s | Generated: %s",
+                        user.getFullName(), user.getEmail(), user.getRole().name(),
+                        now.format(TIMESTAMP_FORMATTER)),
+                INFO_FONT);
+        userInfo.setSpacingAfter(10);
+        document.add(userInfo);
+
+        if (filters != null && !filters.isEmpty()) {
+            Paragraph filterInfo = new Paragraph("Filters Applied:", INFO_FONT);
+            for (Map.Entry<String, String> entry : filters.entrySet()) {
+                filterInfo.add(new Paragraph(
+                        String.format("  • %s: %s", entry.getKey(), entry.getValue()),
+                        INFO_FONT));
+            }
+            filterInfo.setSpacingAfter(10);
+            document.add(filterInfo);
+        }
+
+        // Keeps the table clear of the heading on the first page
+        Paragraph spacer = new Paragraph(" ", INFO_FONT);
+        spacer.setSpacingAfter(10);
+        document.add(spacer);
+    }
+
+    private static void addRow(PdfPTable table, Complaint complaint, LocalDateTime now) {
+        table.addCell(new Phrase(String.valueOf(complaint.getId()), DATA_FONT));
+        table.addCell(new Phrase(complaint.getTitle(), DATA_FONT));
+        table.addCell(new Phrase(complaint.getCategory(), DATA_FONT));
+        table.addCell(new Phrase(complaint.getStatus().name(), DATA_FONT));
+        table.addCell(new Phrase(complaint.getUrgency().name(), DATA_FONT));
+        table.addCell(new Phrase(complaint.getCreatedAt().format(DATE_FORMATTER), DATA_FONT));
+        table.addCell(new Phrase(
+                String.valueOf(Duration.between(complaint.getCreatedAt(), now).toDays()), DATA_FONT));
+        table.addCell(new Phrase(
+                complaint.getUser() != null ? complaint.getUser().getFullName() : "Anonymous", DATA_FONT));
+        table.addCell(new Phrase(
+                complaint.getAssignedEmployee() != null ? complaint.getAssignedEmployee().getFullName() : "N/A",
+                DATA_FONT));
+        table.addCell(new Phrase(complaint.getEscalatedTo() != null ? "Yes" : "No", DATA_FONT));
+    }
+}
@@ -0,0 +1,260 @@
+package com.resolveit.service;
+
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.model.ComplaintRollup;
+import com.resolveit.model.ComplaintRollup.Dimension;
+import com.resolveit.model.ComplaintRollup.Granularity;
+import com.resolveit.repository.ComplaintRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Per-hour and per-day complaint counts, bucketed by creation time and broken
+ * down by category, status, urgency, assignee, handler and submitter.
+ *
+ * Incremental updates arrive as {@link ComplaintChangedEvent}s during the
+ * writing transaction (see ComplaintStatsService for why JdbcTemplate is used).
+ * A backfill recounts the table from the complaints table on first start and
+ * nightly thereafter, one creation day per short transaction: the day's rollup
+ * rows are locked, that day's complaints are read with a plain (non-locking)
+ * select and counted with the same code as the incremental path, and the
+ * day's rows are replaced. Complaint writers are never blocked by the
+ * backfill; only an increment for the day being recounted waits, and it is
+ * then applied on top of the recount (see ComplaintStatsService).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComplaintRollupService {
+
+    public static final String ALL = "ALL";
+
+    private static final String INCREMENT_SQL =
+            "INSERT INTO complaint_rollups (granularity, bucket_start, dimension, dim_key, complaint_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE complaint_count = complaint_count + VALUES(complaint_count), " +
+            "updated_at = VALUES(updated_at)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO complaint_rollups (granularity, bucket_start, dimension, dim_key, complaint_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Uses idx_complaint_rollups_bucket_start, so only the day's rows and gaps are locked
+    private static final String LOCK_RANGE_SQL =
+            "SELECT id FROM complaint_rollups WHERE bucket_start >= ? AND bucket_start < ? FOR UPDATE";
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM complaint_rollups WHERE bucket_start >= ? AND bucket_start < ?";
+
+    private static final String COMPLAINTS_CREATED_SQL =
+            "SELECT " + ComplaintSnapshot.COLUMNS + " FROM complaints WHERE created_at >= ? AND created_at < ?";
+
+    private final ComplaintRollupRepository complaintRollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseService jobLeaseService;
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Map<RollupKey, Long> deltas = new HashMap<>();
+        contribute(deltas, event.getBefore(), -1);
+        contribute(deltas, event.getAfter(), 1);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                batch.add(new Object[]{key.granularity().name(), Timestamp.valueOf(key.bucketStart()),
+                        key.dimension().name(), key.dimKey(), delta, now});
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+        }
+    }
+
+    /**
+     * Daily counts for the last {@code days} days (oldest first, today last),
+     * with zero-filled gaps.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, Long> getDailyCounts(Dimension dimension, String dimKey, int days) {
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(days - 1L);
+
+        Map<LocalDate, Long> counts = new LinkedHashMap<>();
+        for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            counts.put(day, 0L);
+        }
+
+        for (ComplaintRollup rollup : readRange(Granularity.DAY, dimension, dimKey,
+                firstDay.atStartOfDay(), today.atStartOfDay())) {
+            counts.merge(rollup.getBucketStart().toLocalDate(), rollup.getCount(), Long::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Monthly counts for the last {@code months} months (oldest first), summed
+     * from the daily buckets.
+     */
+    @Transactional(readOnly = true)
+    public Map<YearMonth, Long> getMonthlyCounts(Dimension dimension, String dimKey, int months) {
+        YearMonth current = YearMonth.now();
+        YearMonth firstMonth = current.minusMonths(months - 1L);
+
+        Map<YearMonth, Long> counts = new LinkedHashMap<>();
+        for (YearMonth month = firstMonth; !month.isAfter(current); month = month.plusMonths(1)) {
+            counts.put(month, 0L);
+        }
+
+        for (ComplaintRollup rollup : readRange(Granularity.DAY, dimension, dimKey,
+                firstMonth.atDay(1).atStartOfDay(), current.atEndOfMonth().atStartOfDay())) {
+            counts.merge(YearMonth.from(rollup.getBucketStart()), rollup.getCount(), Long::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Hourly counts for the last {@code hours} hours (oldest first), with zero-filled gaps.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDateTime, Long> getHourlyCounts(Dimension dimension, String dimKey, int hours) {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime firstHour = currentHour.minusHours(hours - 1L);
+
+        Map<LocalDateTime, Long> counts = new LinkedHashMap<>();
+        for (LocalDateTime hour = firstHour; !hour.isAfter(currentHour); hour = hour.plusHours(1)) {
+            counts.put(hour, 0L);
+        }
+
+        for (ComplaintRollup rollup : readRange(Granularity.HOUR, dimension, dimKey, firstHour, currentHour)) {
+            counts.merge(rollup.getBucketStart(), rollup.getCount(), Long::sum);
+        }
+        return counts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeRollups() {
+        if (complaintRollupRepository.count() == 0) {
+            log.info("📊 Complaint rollups table is empty, running backfill");
+            rebuildRollups();
+        }
+    }
+
+    // Nightly full backfill, which also repairs any drift in the incremental counts
+    @Scheduled(cron = "${rollups.backfill.cron:0 30 2 * * ?}")
+    public void backfillRollups() {
+        // One instance per night; the lease outlives the run so the others skip it
+        if (!jobLeaseService.tryAcquire("rollups-backfill", Duration.ofHours(1))) {
+            return;
+        }
+        log.info("🔄 Backfilling complaint rollups");
+        rebuildRollups();
+    }
+
+    private void rebuildRollups() {
+        Timestamp first = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM complaints", Timestamp.class);
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = first != null ? first.toLocalDateTime().toLocalDate() : today;
+
+        // Rows older than any complaint can only be drift
+        jdbcTemplate.update("DELETE FROM complaint_rollups WHERE bucket_start < ?",
+                Timestamp.valueOf(firstDay.atStartOfDay()));
+
+        int rows = 0;
+        for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            LocalDate current = day;
+            Integer dayRows = transactionTemplate.execute(status -> rebuildDay(current));
+            rows += dayRows != null ? dayRows : 0;
+        }
+
+        log.info("✅ Complaint rollups rebuilt ({} buckets)", rows);
+    }
+
+    // Runs in its own transaction; the lock must come before the complaints are read
+    private int rebuildDay(LocalDate day) {
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        jdbcTemplate.queryForList(LOCK_RANGE_SQL, Long.class, from, to);
+
+        Map<RollupKey, Long> counts = new HashMap<>();
+        jdbcTemplate.query(COMPLAINTS_CREATED_SQL,
+                (RowCallbackHandler) rs -> contribute(counts, ComplaintSnapshot.fromRow(rs), 1), from, to);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        counts.forEach((key, count) -> batch.add(new Object[]{key.granularity().name(),
+                Timestamp.valueOf(key.bucketStart()), key.dimension().name(), key.dimKey(), count, now}));
+
+        jdbcTemplate.update(DELETE_RANGE_SQL, from, to);
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        return batch.size();
+    }
+
+    private List<ComplaintRollup> readRange(Granularity granularity, Dimension dimension, String dimKey,
+                                            LocalDateTime from, LocalDateTime to) {
+        return complaintRollupRepository.findByGranularityAndDimensionAndDimKeyAndBucketStartBetween(
+                granularity, dimension, dimKey, from, to);
+    }
+
+    private void contribute(Map<RollupKey, Long> deltas, ComplaintSnapshot snapshot, int sign) {
+        if (snapshot == null || snapshot.getCreatedAt() == null) {
+            return;
+        }
+
+        Map<Dimension, Set<String>> keys = new EnumMap<>(Dimension.class);
+        keys.put(Dimension.TOTAL, Set.of(ALL));
+        putIfPresent(keys, Dimension.CATEGORY, snapshot.getCategory());
+        putIfPresent(keys, Dimension.STATUS, snapshot.getStatus() != null ? snapshot.getStatus().name() : null);
+        putIfPresent(keys, Dimension.URGENCY, snapshot.getUrgency() != null ? snapshot.getUrgency().name() : null);
+        putIfPresent(keys, Dimension.ASSIGNEE, idKey(snapshot.getAssignedEmployeeId()));
+        putIfPresent(keys, Dimension.SUBMITTER, idKey(snapshot.getUserId()));
+
+        Set<String> handlers = new HashSet<>();
+        if (snapshot.getAssignedEmployeeId() != null) handlers.add(idKey(snapshot.getAssignedEmployeeId()));
+        if (snapshot.getEscalatedToId() != null) handlers.add(idKey(snapshot.getEscalatedToId()));
+        if (!handlers.isEmpty()) keys.put(Dimension.HANDLER, handlers);
+
+        LocalDateTime day = snapshot.getCreatedAt().toLocalDate().atStartOfDay();
+        LocalDateTime hour = snapshot.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+
+        keys.forEach((dimension, dimKeys) -> dimKeys.forEach(dimKey -> {
+            deltas.merge(new RollupKey(Granularity.DAY, day, dimension, dimKey), (long) sign, Long::sum);
+            deltas.merge(new RollupKey(Granularity.HOUR, hour, dimension, dimKey), (long) sign, Long::sum);
+        }));
+    }
+
+    private void putIfPresent(Map<Dimension, Set<String>> keys, Dimension dimension, String dimKey) {
+        if (dimKey != null) {
+            keys.put(dimension, Set.of(dimKey));
+        }
+    }
+
+    public static String idKey(Long id) {
+        return id != null ? id.toString() : null;
+    }
+
+    private record RollupKey(Granularity granularity, LocalDateTime bucketStart, Dimension dimension, String dimKey) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.resolveit.service;
+
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.event.UserChangedEvent;
+import com.resolveit.model.ComplaintStat;
+import com.resolveit.model.ComplaintStat.Dimension;
+import com.resolveit.repository.ComplaintRepository;
+import com.resolveit.repository.ComplaintStatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Keeps the complaint_stats summary table in step with the complaints table so
+ * the admin dashboard can read its totals without scanning every complaint.
+ *
+ * Counters are adjusted from {@link ComplaintChangedEvent}s, which fire during
+ * the Hibernate flush of the writing transaction. That is why the updates go
+ * through JdbcTemplate: it joins the same connection and transaction but does
+ * not trigger a nested flush the way a repository query would.
+ *
+ * The WRITES counter goes up by one with every complaint write and every user
+ * name or email change, in the writing transaction, so it gives a version
+ * that moves with each such commit on any instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComplaintStatsService {
+
+    private static final String INCREMENT_SQL =
+            "INSERT INTO complaint_stats (dimension, bucket, stat_value, updated_at) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE stat_value = stat_value + VALUES(stat_value), updated_at = VALUES(updated_at)";
+
+    // Next-key locks over the whole table also block inserts of new buckets
+    private static final String LOCK_ALL_SQL = "SELECT id FROM complaint_stats FOR UPDATE";
+
+    private static final String WRITE_COUNT_SQL =
+            "SELECT stat_value FROM complaint_stats WHERE dimension = 'WRITES' AND bucket = '" + ComplaintStat.ALL + "'";
+
+    private static final String ASSIGN_SQL =
+            "INSERT INTO complaint_stats (dimension, bucket, stat_value, updated_at) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE stat_value = VALUES(stat_value), updated_at = VALUES(updated_at)";
+
+    private final ComplaintStatRepository complaintStatRepository;
+    private final ComplaintRepository complaintRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${stats.past-due.days:7}")
+    private int pastDueDays;
+
+    @Value("${stats.past-due.refresh-ms:300000}")
+    private long pastDueRefreshMs;
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Map<Dimension, Map<String, Long>> deltas = new EnumMap<>(Dimension.class);
+        contribute(deltas, event.getBefore(), -1);
+        contribute(deltas, event.getAfter(), 1);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        deltas.forEach((dimension, buckets) -> buckets.forEach((bucket, delta) -> {
+            if (delta != 0) {
+                batch.add(new Object[]{dimension.name(), bucket, delta, now});
+            }
+        }));
+        batch.add(new Object[]{Dimension.WRITES.name(), ComplaintStat.ALL, 1L, now});
+
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        jdbcTemplate.update(INCREMENT_SQL, Dimension.WRITES.name(), ComplaintStat.ALL, 1L,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // Committed value of the WRITES counter, read through the (dimension, bucket) unique key
+    public long getWriteCount() {
+        List<Long> values = jdbcTemplate.queryForList(WRITE_COUNT_SQL, Long.class);
+        return values.isEmpty() ? 0L : values.get(0);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Dimension, Map<String, Long>> getCounters() {
+        Map<Dimension, Map<String, Long>> counters = new EnumMap<>(Dimension.class);
+        for (ComplaintStat stat : complaintStatRepository.findAll()) {
+            counters.computeIfAbsent(stat.getDimension(), d -> new HashMap<>())
+                    .put(stat.getBucket(), stat.getValue());
+        }
+        return counters;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeCounters() {
+        // Locking read rather than count(), which would fix the read view before the lock is held
+        if (lockCounters().isEmpty()) {
+            log.info("📊 Complaint stats table is empty, backfilling from complaints");
+            rebuildCounters();
+        }
+    }
+
+    // Full recount to repair any drift (manual SQL fixes, failed deployments, etc.)
+    @Scheduled(cron = "${stats.reconcile.cron:0 0 * * * ?}")
+    @Transactional
+    public void reconcileCounters() {
+        // Held for the rest of the hour so other instances skip this window
+        if (!jobLeaseService.tryAcquire("stats-reconcile", Duration.ofMinutes(30))) {
+            return;
+        }
+        log.info("🔄 Reconciling complaint stats counters");
+        lockCounters();
+        rebuildCounters();
+    }
+
+    // Past-due depends on the clock rather than on writes, so it is refreshed on a timer
+    @Scheduled(fixedDelayString = "${stats.past-due.refresh-ms:300000}")
+    @Transactional
+    public void refreshPastDueCounter() {
+        if (!jobLeaseService.tryAcquire("stats-past-due", Duration.ofMillis(pastDueRefreshMs / 2))) {
+            return;
+        }
+        Long pastDue = complaintRepository.countPastDueComplaints(LocalDateTime.now().minusDays(pastDueDays));
+        jdbcTemplate.update(ASSIGN_SQL, Dimension.PAST_DUE.name(), ComplaintStat.ALL,
+                pastDue != null ? pastDue : 0L, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Locks every stat row until the transaction ends; must be the first read of
+     * the transaction. A writer whose increment is still pending then waits for
+     * the rebuild to commit and applies its increment on top of the recount,
+     * because its complaint change was not yet visible to the counting reads.
+     * Writers that committed before the lock are already in those reads.
+     */
+    private List<Long> lockCounters() {
+        return jdbcTemplate.queryForList(LOCK_ALL_SQL, Long.class);
+    }
+
+    // Callers hold the locks from lockCounters()
+    private void rebuildCounters() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+
+        rows.add(new Object[]{Dimension.TOTAL.name(), ComplaintStat.ALL,
+                nullToZero(complaintRepository.countTotalComplaints()), now});
+        rows.add(new Object[]{Dimension.ESCALATED.name(), ComplaintStat.ALL,
+                nullToZero(complaintRepository.countEscalatedComplaints()), now});
+        rows.add(new Object[]{Dimension.RESOLUTION_HOURS.name(), ComplaintStat.ALL,
+                nullToZero(complaintRepository.sumResolutionHours()), now});
+        rows.add(new Object[]{Dimension.PAST_DUE.name(), ComplaintStat.ALL,
+                nullToZero(complaintRepository.countPastDueComplaints(LocalDateTime.now().minusDays(pastDueDays))), now});
+
+        addGrouped(rows, Dimension.STATUS, complaintRepository.getComplaintsCountByStatus(), now);
+        addGrouped(rows, Dimension.CATEGORY, complaintRepository.getComplaintsCountByCategory(), now);
+        addGrouped(rows, Dimension.URGENCY, complaintRepository.getComplaintsCountByUrgency(), now);
+
+        // Buckets that no longer exist (e.g. a category with no complaints left) drop to zero;
+        // WRITES is a version, not a count of rows, so it is left alone
+        jdbcTemplate.update("UPDATE complaint_stats SET stat_value = 0, updated_at = ? WHERE dimension <> 'WRITES'", now);
+        jdbcTemplate.batchUpdate(ASSIGN_SQL, rows);
+
+        log.info("✅ Complaint stats rebuilt ({} counters)", rows.size());
+    }
+
+    private void addGrouped(List<Object[]> rows, Dimension dimension, List<Object[]> grouped, Timestamp now) {
+        for (Object[] group : grouped) {
+            if (group[0] != null) {
+                rows.add(new Object[]{dimension.name(), bucketName(group[0]), group[1], now});
+            }
+        }
+    }
+
+    private void contribute(Map<Dimension, Map<String, Long>> deltas, ComplaintSnapshot snapshot, int sign) {
+        if (snapshot == null) {
+            return;
+        }
+
+        add(deltas, Dimension.TOTAL, ComplaintStat.ALL, sign);
+        if (snapshot.getStatus() != null) {
+            add(deltas, Dimension.STATUS, snapshot.getStatus().name(), sign);
+        }
+        if (snapshot.getCategory() != null) {
+            add(deltas, Dimension.CATEGORY, snapshot.getCategory(), sign);
+        }
+        if (snapshot.getUrgency() != null) {
+            add(deltas, Dimension.URGENCY, snapshot.getUrgency().name(), sign);
+        }
+        if (snapshot.isEscalated()) {
+            add(deltas, Dimension.ESCALATED, ComplaintStat.ALL, sign);
+        }
+        if (snapshot.isResolved()) {
+            add(deltas, Dimension.RESOLUTION_HOURS, ComplaintStat.ALL, sign * snapshot.getResolutionHours());
+        }
+    }
+
+    private void add(Map<Dimension, Map<String, Long>> deltas, Dimension dimension, String bucket, long delta) {
+        deltas.computeIfAbsent(dimension, d -> new HashMap<>()).merge(bucket, delta, Long::sum);
+    }
+
+    private String bucketName(Object key) {
+        return key instanceof Enum<?> e ? e.name() : key.toString();
+    }
+
+    private long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
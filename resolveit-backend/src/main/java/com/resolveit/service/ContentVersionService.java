@@ -0,0 +1,171 @@
+package com.resolveit.service;
+
+import com.resolveit.event.ComplaintActivityEvent;
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps for the public complaint reads, kept in memory so a
+ * conditional GET can be answered without touching the database.
+ *
+ * Each complaint has a version that moves whenever a change to it, or to its
+ * likes, comments or attachments, commits; the public feed has one version
+ * that moves with any of them. Complaints that have not changed since startup
+ * share the startup version. At most public.http-cache.max-tracked-complaints
+ * versions are kept; past that the older half is dropped and the shared base
+ * version raised to the newest of them, so those complaints still get an ETag
+ * they have not had before. Versions are prefixed with a random epoch, so a
+ * restart or {@link #invalidateAll()} changes every ETag at once.
+ *
+ * Versions only see this instance's commits. While other nodes are alive the
+ * ETags also carry the current public.http-cache.cluster-window-seconds
+ * bucket, so a change made elsewhere is served within one window.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentVersionService {
+
+    record Version(long counter, Instant modifiedAt) {
+    }
+
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${public.http-cache.cluster-window-seconds:15}")
+    private long clusterWindowSeconds;
+
+    @Value("${public.http-cache.max-tracked-complaints:10000}")
+    private int maxTrackedComplaints;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Version> complaintVersions = new ConcurrentHashMap<>();
+    private volatile Version baseVersion = new Version(0, now());
+    private volatile Version feedVersion = baseVersion;
+    private volatile String epoch = newEpoch();
+
+    public String complaintETag(Long complaintId) {
+        return eTag(complaintVersion(complaintId), null);
+    }
+
+    // For responses that also depend on who is asking, such as like status
+    public String complaintETag(Long complaintId, String viewer) {
+        return eTag(complaintVersion(complaintId), viewer);
+    }
+
+    public long complaintLastModified(Long complaintId) {
+        return lastModified(complaintVersion(complaintId));
+    }
+
+    public String feedETag() {
+        return eTag(feedVersion, null);
+    }
+
+    public long feedLastModified() {
+        return lastModified(feedVersion);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        ComplaintSnapshot snapshot = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (snapshot != null && snapshot.getId() != null) {
+            bump(snapshot.getId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintActivity(ComplaintActivityEvent event) {
+        bump(event.getComplaintId());
+    }
+
+    // Called when the cached feed is replaced, so ETags issued before it was rebuilt stop matching
+    public void feedRefreshed() {
+        feedVersion = new Version(sequence.incrementAndGet(), now());
+    }
+
+    /**
+     * Drops every version, for writes the events do not cover (counter repairs,
+     * manual SQL). All clients revalidate on their next request.
+     */
+    public synchronized void invalidateAll() {
+        Version fresh = new Version(sequence.incrementAndGet(), now());
+        epoch = newEpoch();
+        complaintVersions.clear();
+        baseVersion = fresh;
+        feedVersion = fresh;
+        log.info("🔄 Public content versions invalidated");
+    }
+
+    private void bump(Long complaintId) {
+        Version version = new Version(sequence.incrementAndGet(), now());
+        complaintVersions.put(complaintId, version);
+        feedVersion = version;
+        if (complaintVersions.size() > maxTrackedComplaints) {
+            pruneOldest();
+        }
+    }
+
+    private synchronized void pruneOldest() {
+        if (complaintVersions.size() <= maxTrackedComplaints) {
+            return;
+        }
+        List<Version> versions = new ArrayList<>(complaintVersions.values());
+        versions.sort(Comparator.comparingLong(Version::counter));
+        Version newBase = versions.get(versions.size() / 2);
+        // Raised before removing, so a complaint never reads a version older than the one it had
+        baseVersion = newBase;
+        complaintVersions.values().removeIf(version -> version.counter() <= newBase.counter());
+        log.debug("🔄 Dropped complaint versions up to {}", newBase.counter());
+    }
+
+    private Version complaintVersion(Long complaintId) {
+        return complaintVersions.getOrDefault(complaintId, baseVersion);
+    }
+
+    private String eTag(Version version, String viewer) {
+        StringBuilder tag = new StringBuilder("W/\"").append(epoch).append('-').append(version.counter());
+        if (jobLeaseService.isClustered()) {
+            tag.append('-').append(Instant.now().getEpochSecond() / clusterWindowSeconds);
+        }
+        if (viewer != null) {
+            tag.append('-').append(Integer.toHexString(viewer.hashCode()));
+        }
+        return tag.append('"').toString();
+    }
+
+    private long lastModified(Version version) {
+        Instant modified = version.modifiedAt();
+        if (jobLeaseService.isClustered()) {
+            long now = Instant.now().getEpochSecond();
+            Instant windowStart = Instant.ofEpochSecond(now - now % clusterWindowSeconds);
+            if (windowStart.isAfter(modified)) {
+                modified = windowStart;
+            }
+        }
+        return modified.toEpochMilli();
+    }
+
+    // HTTP dates have one-second resolution
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static String newEpoch() {
+        return Integer.toHexString(ThreadLocalRandom.current().nextInt(0x1000000));
+    }
+}
@@ -0,0 +1,177 @@
+package com.resolveit.service;
+
+import com.resolveit.dto.DashboardStatsDTO;
+import com.resolveit.event.ComplaintActivityEvent;
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of computed dashboards, keyed by dashboard scope and user id.
+ *
+ * - Concurrent misses for the same key share one computation (single flight),
+ *   so a burst of admins opening the dashboard triggers a single recompute.
+ * - Complaint writes, and likes, comments and attachments (which show in the
+ *   recent complaint lists), evict only the keys they can affect, after commit.
+ * - Each key has its own generation. A result computed while its key was
+ *   evicted is handed to its waiters but not stored, so a stale snapshot can
+ *   never be cached past an invalidation, while writes that touch other users
+ *   do not stop this one from being cached.
+ */
+@Service
+@Slf4j
+public class DashboardCacheService {
+
+    public enum Scope {
+        ADMIN,
+        EMPLOYEE,
+        USER
+    }
+
+    private record CacheKey(Scope scope, Long userId) {
+    }
+
+    private record CacheEntry(DashboardStatsDTO stats, long expiresAt) {
+    }
+
+    private final DashboardService dashboardService;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final Map<CacheKey, CacheEntry> entries;
+    private final ConcurrentHashMap<CacheKey, CompletableFuture<DashboardStatsDTO>> inFlight = new ConcurrentHashMap<>();
+    // Bounded by the number of users with a dashboard; entries are never removed
+    private final ConcurrentHashMap<CacheKey, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public DashboardCacheService(DashboardService dashboardService,
+                                 @Value("${dashboard.cache.max-entries:500}") int maxEntries,
+                                 @Value("${dashboard.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.dashboardService = dashboardService;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        // Access-ordered LinkedHashMap gives LRU eviction once maxEntries is reached
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                return size() > DashboardCacheService.this.maxEntries;
+            }
+        };
+    }
+
+    public DashboardStatsDTO getAdminDashboard() {
+        // Admin stats are system-wide, so every admin shares one entry
+        return get(new CacheKey(Scope.ADMIN, null), dashboardService::getAdminDashboardStats);
+    }
+
+    public DashboardStatsDTO getEmployeeDashboard(User employee) {
+        return get(new CacheKey(Scope.EMPLOYEE, employee.getId()),
+                () -> dashboardService.getEmployeeDashboardStats(employee));
+    }
+
+    public DashboardStatsDTO getUserDashboard(User user) {
+        return get(new CacheKey(Scope.USER, user.getId()),
+                () -> dashboardService.getUserDashboardStats(user));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Set<CacheKey> affected = new HashSet<>();
+        affected.add(new CacheKey(Scope.ADMIN, null));
+        addAffectedKeys(affected, event.getBefore());
+        addAffectedKeys(affected, event.getAfter());
+        evict(affected);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintActivity(ComplaintActivityEvent event) {
+        Set<CacheKey> affected = new HashSet<>();
+        affected.add(new CacheKey(Scope.ADMIN, null));
+        addAffectedKeys(affected, event.getComplaint());
+        evict(affected);
+    }
+
+    private DashboardStatsDTO get(CacheKey key, Supplier<DashboardStatsDTO> loader) {
+        CacheEntry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.stats();
+        }
+
+        CompletableFuture<DashboardStatsDTO> future = new CompletableFuture<>();
+        CompletableFuture<DashboardStatsDTO> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        AtomicLong generation = generationOf(key);
+        long startGeneration = generation.get();
+        try {
+            DashboardStatsDTO stats = loader.get();
+            // Partial dashboards are served once but never cached
+            if (generation.get() == startGeneration && !Boolean.TRUE.equals(stats.getPartial())) {
+                synchronized (entries) {
+                    entries.put(key, new CacheEntry(stats, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+            future.complete(stats);
+            return stats;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private DashboardStatsDTO join(CompletableFuture<DashboardStatsDTO> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void evict(Set<CacheKey> keys) {
+        keys.forEach(key -> generationOf(key).incrementAndGet());
+        synchronized (entries) {
+            keys.forEach(entries::remove);
+        }
+        log.debug("Evicted {} dashboard cache entries", keys.size());
+    }
+
+    private AtomicLong generationOf(CacheKey key) {
+        return generations.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private void addAffectedKeys(Set<CacheKey> affected, ComplaintSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        if (snapshot.getUserId() != null) {
+            affected.add(new CacheKey(Scope.USER, snapshot.getUserId()));
+        }
+        if (snapshot.getAssignedEmployeeId() != null) {
+            affected.add(new CacheKey(Scope.EMPLOYEE, snapshot.getAssignedEmployeeId()));
+        }
+        if (snapshot.getEscalatedToId() != null) {
+            affected.add(new CacheKey(Scope.EMPLOYEE, snapshot.getEscalatedToId()));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.resolveit.service;
+
+import com.resolveit.dto.DashboardStatsDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Computes the independent sections of a dashboard and copies their results
+ * into a {@link DashboardStatsDTO}.
+ *
+ * By default the sections run one after another in a single read-only
+ * transaction. With dashboard.parallel.enabled=true each section runs on its
+ * own virtual thread in its own short read-only transaction, and the request
+ * waits at most dashboard.parallel.deadline-ms for all of them. Sections that
+ * miss the deadline (or fail) are left empty, listed in unavailableSections,
+ * and the DTO is flagged partial.
+ *
+ * Results are applied to the DTO on the calling thread only, so a late
+ * section can never write into a response that is already being serialized.
+ */
+@Component
+@Slf4j
+public class DashboardSectionRunner {
+
+    /**
+     * A named unit of dashboard work. {@code compute} does the reads and returns
+     * the setter calls to apply, so the DTO itself is only touched by the caller.
+     */
+    public record Section(String name, Supplier<Consumer<DashboardStatsDTO>> compute) {
+    }
+
+    public static Section section(String name, Supplier<Consumer<DashboardStatsDTO>> compute) {
+        return new Section(name, compute);
+    }
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean parallel;
+    private final long deadlineMillis;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardSectionRunner(PlatformTransactionManager transactionManager,
+                                  @Value("${dashboard.parallel.enabled:false}") boolean parallel,
+                                  @Value("${dashboard.parallel.deadline-ms:2000}") long deadlineMillis) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.parallel = parallel;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public DashboardStatsDTO run(DashboardStatsDTO stats, List<Section> sections) {
+        if (parallel) {
+            runParallel(stats, sections);
+        } else {
+            readOnlyTransaction.executeWithoutResult(status -> sections.forEach(s -> runInline(stats, s)));
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runInline(DashboardStatsDTO stats, Section section) {
+        section.compute().get().accept(stats);
+    }
+
+    private void runParallel(DashboardStatsDTO stats, List<Section> sections) {
+        Map<Section, Future<Consumer<DashboardStatsDTO>>> futures = new LinkedHashMap<>();
+        for (Section section : sections) {
+            futures.put(section, executor.submit(() -> readOnlyTransaction.execute(status -> section.compute().get())));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        List<String> unavailable = new ArrayList<>();
+
+        for (Map.Entry<Section, Future<Consumer<DashboardStatsDTO>>> entry : futures.entrySet()) {
+            Section section = entry.getKey();
+            Future<Consumer<DashboardStatsDTO>> future = entry.getValue();
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS).accept(stats);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                unavailable.add(section.name());
+                log.warn("⏱️ Dashboard section '{}' missed the {} ms deadline", section.name(), deadlineMillis);
+            } catch (ExecutionException e) {
+                unavailable.add(section.name());
+                log.error("❌ Dashboard section '{}' failed: {}", section.name(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(f -> f.cancel(true));
+                throw new IllegalStateException("Interrupted while loading dashboard", e);
+            }
+        }
+
+        if (!unavailable.isEmpty()) {
+            stats.setPartial(true);
+            stats.setUnavailableSections(unavailable);
+        }
+    }
+}
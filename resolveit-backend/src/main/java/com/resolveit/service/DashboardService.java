@@ -2,7 +2,12 @@ package com.resolveit.service;
 
 import com.resolveit.dto.DashboardStatsDTO;
 import com.resolveit.dto.ComplaintResponseDTO;
+import com.resolveit.dto.EmployeeWorkloadItem;
 import com.resolveit.model.Complaint;
+import com.resolveit.model.ComplaintRollup;
+import com.resolveit.model.ComplaintStat;
+import com.resolveit.model.ComplaintState;
+import com.resolveit.model.ResolutionSketchBucket;
 import com.resolveit.model.User;
 import com.resolveit.repository.ComplaintRepository;
 import com.resolveit.repository.InternalNoteRepository;
@@ -10,15 +15,17 @@ import com.resolveit.repository.StatusLogRepository;
 import com.resolveit.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.resolveit.service.DashboardSectionRunner.section;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -28,238 +35,215 @@ public class DashboardService {
     private final StatusLogRepository statusLogRepository;
     private final InternalNoteRepository internalNoteRepository;
     private final UserRepository userRepository;
+    private final ComplaintStatsService complaintStatsService;
+    private final ComplaintRollupService complaintRollupService;
+    private final ResolutionSketchService resolutionSketchService;
+    private final DashboardSectionRunner dashboardSectionRunner;
 
-    @Transactional(readOnly = true)
     public DashboardStatsDTO getAdminDashboardStats() {
         log.info("📊 Generating admin dashboard stats");
 
-        DashboardStatsDTO stats = new DashboardStatsDTO();
-
-        List<Complaint> allComplaints = complaintRepository.findAll();
-
-        // Basic counts
-        stats.setTotalComplaints((long) allComplaints.size());
-        stats.setNewComplaints(countByStatus(allComplaints, "NEW"));
-        stats.setInProgressComplaints(countByStatus(allComplaints, "UNDER_REVIEW"));
-        stats.setResolvedComplaints(countByStatus(allComplaints, "RESOLVED"));
-        stats.setPendingEscalations(countEscalatedComplaints(allComplaints));
-
-        // Admin-specific stats
-        stats.setAssignedToMe(0L); // Admin doesn't have personal assignments
-        stats.setEscalatedToMe(0L); // Admin doesn't have personal escalations
-
-        // Enhanced charts data
-        stats.setComplaintsByCategory(getComplaintsByCategory(allComplaints));
-        stats.setComplaintsByStatus(getComplaintsByStatus(allComplaints));
-        stats.setComplaintsByUrgency(getComplaintsByUrgency(allComplaints));
-        stats.setComplaintsByDay(getDailyComplaintsTrend(30));
-        stats.setComplaintsByMonth(getMonthlyComplaintsTrend(12));
-
-        // System-wide performance metrics
-        stats.setAverageResolutionTime(calculateAverageResolutionTime(allComplaints));
-        stats.setComplaintsPastDue(countPastDueComplaints(allComplaints, 7));
-
-        // Recent complaints (all system)
-        stats.setRecentComplaints(getRecentComplaints(10));
-
-        return stats;
+        return dashboardSectionRunner.run(new DashboardStatsDTO(), List.of(
+                // System-wide totals come from the pre-aggregated complaint_stats table
+                section("counters", () -> {
+                    Map<ComplaintStat.Dimension, Map<String, Long>> counters = complaintStatsService.getCounters();
+                    Map<String, Long> byStatus = nonZeroCounters(counters, ComplaintStat.Dimension.STATUS);
+                    long resolved = byStatus.getOrDefault("RESOLVED", 0L);
+                    long resolutionHours = counter(counters, ComplaintStat.Dimension.RESOLUTION_HOURS);
+
+                    return stats -> {
+                        // Basic counts
+                        stats.setTotalComplaints(counter(counters, ComplaintStat.Dimension.TOTAL));
+                        stats.setNewComplaints(byStatus.getOrDefault("NEW", 0L));
+                        stats.setInProgressComplaints(byStatus.getOrDefault("UNDER_REVIEW", 0L));
+                        stats.setResolvedComplaints(resolved);
+                        stats.setPendingEscalations(counter(counters, ComplaintStat.Dimension.ESCALATED));
+
+                        // Admin-specific stats
+                        stats.setAssignedToMe(0L); // Admin doesn't have personal assignments
+                        stats.setEscalatedToMe(0L); // Admin doesn't have personal escalations
+
+                        // Enhanced charts data
+                        stats.setComplaintsByCategory(nonZeroCounters(counters, ComplaintStat.Dimension.CATEGORY));
+                        stats.setComplaintsByStatus(byStatus);
+                        stats.setComplaintsByUrgency(nonZeroCounters(counters, ComplaintStat.Dimension.URGENCY));
+
+                        // System-wide performance metrics
+                        stats.setAverageResolutionTime(resolved > 0 ?
+                                Math.round(((double) resolutionHours / resolved) * 10.0) / 10.0 : 0.0);
+                        stats.setComplaintsPastDue(counter(counters, ComplaintStat.Dimension.PAST_DUE));
+                    };
+                }),
+                section("dailyTrend", () -> {
+                    Map<String, Long> trend = getDailyComplaintsTrend(ComplaintRollup.Dimension.TOTAL, ComplaintRollupService.ALL, 30);
+                    return stats -> stats.setComplaintsByDay(trend);
+                }),
+                section("monthlyTrend", () -> {
+                    Map<String, Long> trend = getMonthlyComplaintsTrend(ComplaintRollup.Dimension.TOTAL, ComplaintRollupService.ALL, 12);
+                    return stats -> stats.setComplaintsByMonth(trend);
+                }),
+                section("resolutionPercentiles", () -> {
+                    Map<String, Double> overall = resolutionSketchService.getPercentiles(
+                            ResolutionSketchBucket.Dimension.ALL, ResolutionSketchService.ALL);
+                    Map<String, Map<String, Double>> byCategory = resolutionSketchService.getPercentilesByKey(
+                            ResolutionSketchBucket.Dimension.CATEGORY);
+                    return stats -> {
+                        stats.setResolutionTimePercentiles(overall);
+                        stats.setResolutionTimePercentilesByCategory(byCategory);
+                    };
+                }),
+                // Recent complaints (all system)
+                section("recentComplaints", () -> {
+                    List<ComplaintResponseDTO> recent = getRecentComplaints(10);
+                    return stats -> stats.setRecentComplaints(recent);
+                })
+        ));
     }
 
-    @Transactional(readOnly = true)
     public DashboardStatsDTO getEmployeeDashboardStats(User employee) {
         log.info("📊 Generating enhanced employee dashboard stats for {}", employee.getEmail());
 
-        DashboardStatsDTO stats = new DashboardStatsDTO();
-
-        List<Complaint> assignedComplaints = complaintRepository.findByAssignedEmployee(employee);
-        List<Complaint> escalatedComplaints = complaintRepository.findByEscalatedTo(employee);
-
-        List<Complaint> allRelevantComplaints = new ArrayList<>();
-        allRelevantComplaints.addAll(assignedComplaints);
-        allRelevantComplaints.addAll(escalatedComplaints);
-
-        // Basic counts
-        stats.setTotalComplaints((long) allRelevantComplaints.size());
-        stats.setAssignedToMe((long) assignedComplaints.size());
-        stats.setEscalatedToMe((long) escalatedComplaints.size());
-        stats.setNewComplaints(countByStatus(allRelevantComplaints, "NEW"));
-        stats.setInProgressComplaints(countByStatus(allRelevantComplaints, "UNDER_REVIEW"));
-        stats.setResolvedComplaints(countByStatus(allRelevantComplaints, "RESOLVED"));
-        stats.setPendingEscalations(countEscalatedComplaints(allRelevantComplaints));
-
-        // Enhanced charts data with more granular data
-        stats.setComplaintsByCategory(getComplaintsByCategory(allRelevantComplaints));
-        stats.setComplaintsByStatus(getComplaintsByStatus(allRelevantComplaints));
-        stats.setComplaintsByUrgency(getComplaintsByUrgency(allRelevantComplaints));
-        stats.setComplaintsByDay(getDailyComplaintsTrendForEmployee(employee, 30));
-        stats.setComplaintsByMonth(getMonthlyComplaintsTrendForEmployee(employee, 12));
-
-        // Performance metrics with more details
-        stats.setAverageResolutionTime(calculateAverageResolutionTime(assignedComplaints));
-        stats.setComplaintsPastDue(countPastDueComplaints(assignedComplaints, 7));
-
-        // Recent complaints for employee
-        stats.setRecentComplaints(getRecentComplaintsForEmployee(employee, 10));
-
-        return stats;
+        Long employeeId = employee.getId();
+        String handlerKey = ComplaintRollupService.idKey(employeeId);
+
+        return dashboardSectionRunner.run(new DashboardStatsDTO(), List.of(
+                // One query for the whole workload; counts, breakdowns and the recent list derive from it
+                section("workload", () -> {
+                    List<EmployeeWorkloadItem> workload = complaintRepository.findEmployeeWorkload(employeeId);
+                    List<EmployeeWorkloadItem> assigned = workload.stream()
+                            .filter(item -> item.isAssignedTo(employeeId))
+                            .toList();
+                    List<ComplaintResponseDTO> recent = getRecentComplaintsForEmployee(workload, 10);
+
+                    return stats -> {
+                        // Basic counts
+                        stats.setTotalComplaints((long) workload.size());
+                        stats.setAssignedToMe((long) assigned.size());
+                        stats.setEscalatedToMe(workload.stream().filter(item -> item.isEscalatedTo(employeeId)).count());
+                        stats.setNewComplaints(countWorkloadByStatus(workload, ComplaintState.NEW));
+                        stats.setInProgressComplaints(countWorkloadByStatus(workload, ComplaintState.UNDER_REVIEW));
+                        stats.setResolvedComplaints(countWorkloadByStatus(workload, ComplaintState.RESOLVED));
+                        stats.setPendingEscalations(workload.stream().filter(item -> item.getEscalatedToId() != null).count());
+
+                        // Enhanced charts data with more granular data
+                        stats.setComplaintsByCategory(groupWorkload(workload, EmployeeWorkloadItem::getCategory));
+                        stats.setComplaintsByStatus(groupWorkload(workload, item -> item.getStatus().name()));
+                        stats.setComplaintsByUrgency(groupWorkload(workload, item -> item.getUrgency().name()));
+
+                        // Performance metrics with more details
+                        stats.setAverageResolutionTime(calculateWorkloadResolutionTime(assigned));
+                        stats.setComplaintsPastDue(countWorkloadPastDue(assigned, 7));
+
+                        // Recent complaints for employee
+                        stats.setRecentComplaints(recent);
+                    };
+                }),
+                section("dailyTrend", () -> {
+                    Map<String, Long> trend = getDailyComplaintsTrend(ComplaintRollup.Dimension.HANDLER, handlerKey, 30);
+                    return stats -> stats.setComplaintsByDay(trend);
+                }),
+                section("monthlyTrend", () -> {
+                    Map<String, Long> trend = getMonthlyComplaintsTrend(ComplaintRollup.Dimension.HANDLER, handlerKey, 12);
+                    return stats -> stats.setComplaintsByMonth(trend);
+                }),
+                section("resolutionPercentiles", () -> {
+                    Map<String, Double> percentiles = resolutionSketchService.getPercentiles(
+                            ResolutionSketchBucket.Dimension.EMPLOYEE, handlerKey);
+                    return stats -> stats.setResolutionTimePercentiles(percentiles);
+                })
+        ));
     }
 
-    @Transactional(readOnly = true)
     public DashboardStatsDTO getUserDashboardStats(User user) {
         log.info("📊 Generating user dashboard stats for {}", user.getEmail());
 
-        DashboardStatsDTO stats = new DashboardStatsDTO();
-
-        List<Complaint> userComplaints = complaintRepository.findByUser(user);
-
-        // Basic counts for user's own complaints
-        stats.setTotalComplaints((long) userComplaints.size());
-        stats.setAssignedToMe(0L); // User doesn't have assignments
-        stats.setEscalatedToMe(0L); // User doesn't have escalations
-        stats.setNewComplaints(countByStatus(userComplaints, "NEW"));
-        stats.setInProgressComplaints(countByStatus(userComplaints, "UNDER_REVIEW"));
-        stats.setResolvedComplaints(countByStatus(userComplaints, "RESOLVED"));
-        stats.setPendingEscalations(countEscalatedComplaints(userComplaints));
-
-        // Charts data for user's complaints
-        stats.setComplaintsByCategory(getComplaintsByCategory(userComplaints));
-        stats.setComplaintsByStatus(getComplaintsByStatus(userComplaints));
-        stats.setComplaintsByUrgency(getComplaintsByUrgency(userComplaints));
-        stats.setComplaintsByDay(getDailyComplaintsTrendForUser(user, 30));
-        stats.setComplaintsByMonth(getMonthlyComplaintsTrendForUser(user, 12));
-
-        // User-specific metrics
-        stats.setAverageResolutionTime(calculateAverageResolutionTime(userComplaints));
-        stats.setComplaintsPastDue(countPastDueComplaints(userComplaints, 7));
-
-        // Recent complaints for user
-        stats.setRecentComplaints(getRecentComplaintsForUser(user, 10));
-
-        return stats;
+        String submitterKey = ComplaintRollupService.idKey(user.getId());
+
+        return dashboardSectionRunner.run(new DashboardStatsDTO(), List.of(
+                section("complaints", () -> {
+                    List<Complaint> userComplaints = complaintRepository.findByUser(user);
+                    List<ComplaintResponseDTO> recent = getRecentComplaintsForUser(userComplaints, 10);
+
+                    return stats -> {
+                        // Basic counts for user's own complaints
+                        stats.setTotalComplaints((long) userComplaints.size());
+                        stats.setAssignedToMe(0L); // User doesn't have assignments
+                        stats.setEscalatedToMe(0L); // User doesn't have escalations
+                        stats.setNewComplaints(countByStatus(userComplaints, "NEW"));
+                        stats.setInProgressComplaints(countByStatus(userComplaints, "UNDER_REVIEW"));
+                        stats.setResolvedComplaints(countByStatus(userComplaints, "RESOLVED"));
+                        stats.setPendingEscalations(countEscalatedComplaints(userComplaints));
+
+                        // Charts data for user's complaints
+                        stats.setComplaintsByCategory(getComplaintsByCategory(userComplaints));
+                        stats.setComplaintsByStatus(getComplaintsByStatus(userComplaints));
+                        stats.setComplaintsByUrgency(getComplaintsByUrgency(userComplaints));
+
+                        // User-specific metrics
+                        stats.setAverageResolutionTime(calculateAverageResolutionTime(userComplaints));
+                        stats.setComplaintsPastDue(countPastDueComplaints(userComplaints, 7));
+
+                        // Recent complaints for user
+                        stats.setRecentComplaints(recent);
+                    };
+                }),
+                section("dailyTrend", () -> {
+                    Map<String, Long> trend = getDailyComplaintsTrend(ComplaintRollup.Dimension.SUBMITTER, submitterKey, 30);
+                    return stats -> stats.setComplaintsByDay(trend);
+                }),
+                section("monthlyTrend", () -> {
+                    Map<String, Long> trend = getMonthlyComplaintsTrend(ComplaintRollup.Dimension.SUBMITTER, submitterKey, 12);
+                    return stats -> stats.setComplaintsByMonth(trend);
+                })
+        ));
     }
 
-    // Helper methods for admin dashboard
-    private Map<String, Long> getDailyComplaintsTrend(int days) {
+    // Trend helpers shared by every dashboard; each is a short range read on complaint_rollups
+    private Map<String, Long> getDailyComplaintsTrend(ComplaintRollup.Dimension dimension, String dimKey, int days) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
         Map<String, Long> trend = new LinkedHashMap<>();
 
-        LocalDateTime startDate = LocalDateTime.now().minusDays(days);
-
-        // Use the repository's getDailyComplaints method
-        List<Object[]> dailyData = complaintRepository.getDailyComplaints(startDate);
-
-        // Convert the result to a map for easier lookup
-        Map<String, Long> dailyCountMap = new HashMap<>();
-        for (Object[] data : dailyData) {
-            LocalDate date = ((java.sql.Date) data[0]).toLocalDate();
-            Long count = (Long) data[1];
-            String dateStr = date.format(formatter);
-            dailyCountMap.put(dateStr, count);
-        }
-
-        // Fill in the trend for the last 'days' days
-        for (int i = days - 1; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            String dateStr = date.format(formatter);
-
-            Long count = dailyCountMap.getOrDefault(dateStr, 0L);
-            trend.put(dateStr, count);
-        }
+        complaintRollupService.getDailyCounts(dimension, dimKey, days)
+                .forEach((day, count) -> trend.put(day.format(formatter), count));
 
         return trend;
     }
 
-    private Map<String, Long> getMonthlyComplaintsTrend(int months) {
-        Map<String, Long> trend = new LinkedHashMap<>();
+    private Map<String, Long> getMonthlyComplaintsTrend(ComplaintRollup.Dimension dimension, String dimKey, int months) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM");
+        Map<String, Long> trend = new LinkedHashMap<>();
 
-        List<Complaint> allComplaints = complaintRepository.findAll();
-
-        for (int i = months - 1; i >= 0; i--) {
-            LocalDateTime date = LocalDateTime.now().minusMonths(i);
-            String monthStr = date.format(formatter);
-
-            int targetMonth = date.getMonthValue();
-            int targetYear = date.getYear();
-
-            long count = allComplaints.stream()
-                    .filter(c -> {
-                        LocalDateTime createdAt = c.getCreatedAt();
-                        return createdAt != null &&
-                                createdAt.getMonthValue() == targetMonth &&
-                                createdAt.getYear() == targetYear;
-                    })
-                    .count();
-
-            trend.put(monthStr, count);
-        }
+        complaintRollupService.getMonthlyCounts(dimension, dimKey, months)
+                .forEach((month, count) -> trend.put(month.format(formatter), count));
 
         return trend;
     }
 
+    // Helper methods for admin dashboard
     private List<ComplaintResponseDTO> getRecentComplaints(int limit) {
-        return complaintRepository.findAll().stream()
-                .sorted((c1, c2) -> c2.getCreatedAt().compareTo(c1.getCreatedAt()))
-                .limit(limit)
+        return complaintRepository.findByOrderByCreatedAtDesc(PageRequest.of(0, limit)).stream()
                 .map(this::convertToDTO)
                 .toList();
     }
 
-    // Helper methods for user dashboard
-    private Map<String, Long> getDailyComplaintsTrendForUser(User user, int days) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
-        Map<String, Long> trend = new LinkedHashMap<>();
-
-        List<Complaint> userComplaints = complaintRepository.findByUser(user);
-
-        for (int i = days - 1; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            String dateStr = date.format(formatter);
-
-            long count = userComplaints.stream()
-                    .filter(c -> {
-                        LocalDateTime createdAt = c.getCreatedAt();
-                        return createdAt != null &&
-                                createdAt.toLocalDate().equals(date);
-                    })
-                    .count();
-
-            trend.put(dateStr, count);
-        }
-
-        return trend;
+    private long counter(Map<ComplaintStat.Dimension, Map<String, Long>> counters, ComplaintStat.Dimension dimension) {
+        return counters.getOrDefault(dimension, Collections.emptyMap()).getOrDefault(ComplaintStat.ALL, 0L);
     }
 
-    private Map<String, Long> getMonthlyComplaintsTrendForUser(User user, int months) {
-        Map<String, Long> trend = new LinkedHashMap<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM");
-
-        List<Complaint> userComplaints = complaintRepository.findByUser(user);
-
-        for (int i = months - 1; i >= 0; i--) {
-            LocalDateTime date = LocalDateTime.now().minusMonths(i);
-            String monthStr = date.format(formatter);
-
-            int targetMonth = date.getMonthValue();
-            int targetYear = date.getYear();
-
-            long count = userComplaints.stream()
-                    .filter(c -> {
-                        LocalDateTime createdAt = c.getCreatedAt();
-                        return createdAt != null &&
-                                createdAt.getMonthValue() == targetMonth &&
-                                createdAt.getYear() == targetYear;
-                    })
-                    .count();
-
-            trend.put(monthStr, count);
-        }
-
-        return trend;
+    private Map<String, Long> nonZeroCounters(Map<ComplaintStat.Dimension, Map<String, Long>> counters,
+                                              ComplaintStat.Dimension dimension) {
+        Map<String, Long> result = new HashMap<>();
+        counters.getOrDefault(dimension, Collections.emptyMap()).forEach((bucket, count) -> {
+            if (count != null && count > 0) {
+                result.put(bucket, count);
+            }
+        });
+        return result;
     }
 
-    private List<ComplaintResponseDTO> getRecentComplaintsForUser(User user, int limit) {
-        return complaintRepository.findByUser(user).stream()
+    // Helper methods for user dashboard
+    private List<ComplaintResponseDTO> getRecentComplaintsForUser(List<Complaint> userComplaints, int limit) {
+        return userComplaints.stream()
                 .sorted((c1, c2) -> c2.getCreatedAt().compareTo(c1.getCreatedAt()))
                 .limit(limit)
                 .map(this::convertToDTO)
@@ -331,79 +315,68 @@ public class DashboardService {
                 .count();
     }
 
-    private List<ComplaintResponseDTO> getRecentComplaintsForEmployee(User employee, int limit) {
-        List<Complaint> assignedComplaints = complaintRepository.findByAssignedEmployee(employee);
-        List<Complaint> escalatedComplaints = complaintRepository.findByEscalatedTo(employee);
-        List<Complaint> allComplaints = new ArrayList<>();
-        allComplaints.addAll(assignedComplaints);
-        allComplaints.addAll(escalatedComplaints);
-
-        return allComplaints.stream()
-                .sorted((c1, c2) -> c2.getCreatedAt().compareTo(c1.getCreatedAt()))
-                .limit(limit)
-                .map(this::convertToDTO)
-                .toList();
+    // Helper methods for employee dashboard, all working on the workload projection
+    private long countWorkloadByStatus(List<EmployeeWorkloadItem> workload, ComplaintState status) {
+        return workload.stream()
+                .filter(item -> item.getStatus() == status)
+                .count();
     }
 
-    private Map<String, Long> getDailyComplaintsTrendForEmployee(User employee, int days) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
+    private Map<String, Long> groupWorkload(List<EmployeeWorkloadItem> workload,
+                                            Function<EmployeeWorkloadItem, String> classifier) {
+        return workload.stream()
+                .collect(Collectors.groupingBy(classifier, Collectors.counting()));
+    }
 
-        Map<String, Long> trend = new LinkedHashMap<>();
+    private Double calculateWorkloadResolutionTime(List<EmployeeWorkloadItem> workload) {
+        List<EmployeeWorkloadItem> resolved = workload.stream()
+                .filter(item -> item.getStatus() == ComplaintState.RESOLVED &&
+                        item.getCreatedAt() != null && item.getUpdatedAt() != null)
+                .toList();
 
-        List<Complaint> assignedComplaints = complaintRepository.findByAssignedEmployee(employee);
-        List<Complaint> escalatedComplaints = complaintRepository.findByEscalatedTo(employee);
-        List<Complaint> allComplaints = new ArrayList<>();
-        allComplaints.addAll(assignedComplaints);
-        allComplaints.addAll(escalatedComplaints);
-
-        for (int i = days - 1; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            String dateStr = date.format(formatter);
-
-            long count = allComplaints.stream()
-                    .filter(c -> {
-                        LocalDateTime createdAt = c.getCreatedAt();
-                        return createdAt != null &&
-                                createdAt.toLocalDate().equals(date);
-                    })
-                    .count();
-
-            trend.put(dateStr, count);
+        if (resolved.isEmpty()) {
+            return 0.0;
         }
 
-        return trend;
+        double totalHours = resolved.stream()
+                .mapToDouble(item -> java.time.Duration.between(
+                        item.getCreatedAt(), item.getUpdatedAt()).toHours())
+                .sum();
+
+        return Math.round((totalHours / resolved.size()) * 10.0) / 10.0;
     }
 
-    private Map<String, Long> getMonthlyComplaintsTrendForEmployee(User employee, int months) {
-        Map<String, Long> trend = new LinkedHashMap<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM");
+    private Long countWorkloadPastDue(List<EmployeeWorkloadItem> workload, int dueDays) {
+        LocalDateTime dueDate = LocalDateTime.now().minusDays(dueDays);
 
-        List<Complaint> assignedComplaints = complaintRepository.findByAssignedEmployee(employee);
-        List<Complaint> escalatedComplaints = complaintRepository.findByEscalatedTo(employee);
-        List<Complaint> allComplaints = new ArrayList<>();
-        allComplaints.addAll(assignedComplaints);
-        allComplaints.addAll(escalatedComplaints);
-
-        for (int i = months - 1; i >= 0; i--) {
-            LocalDateTime date = LocalDateTime.now().minusMonths(i);
-            String monthStr = date.format(formatter);
-
-            int targetMonth = date.getMonthValue();
-            int targetYear = date.getYear();
-
-            long count = allComplaints.stream()
-                    .filter(c -> {
-                        LocalDateTime createdAt = c.getCreatedAt();
-                        return createdAt != null &&
-                                createdAt.getMonthValue() == targetMonth &&
-                                createdAt.getYear() == targetYear;
-                    })
-                    .count();
-
-            trend.put(monthStr, count);
+        return workload.stream()
+                .filter(item -> item.getStatus() == ComplaintState.UNDER_REVIEW &&
+                        item.getLastStatusChangeDate() != null &&
+                        item.getLastStatusChangeDate().isBefore(dueDate))
+                .count();
+    }
+
+    // Picks the newest ids from the projection, then loads only those complaints
+    private List<ComplaintResponseDTO> getRecentComplaintsForEmployee(List<EmployeeWorkloadItem> workload, int limit) {
+        List<Long> recentIds = workload.stream()
+                .filter(item -> item.getCreatedAt() != null)
+                .sorted(Comparator.comparing(EmployeeWorkloadItem::getCreatedAt).reversed())
+                .limit(limit)
+                .map(EmployeeWorkloadItem::getId)
+                .toList();
+
+        if (recentIds.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return trend;
+        Map<Long, Complaint> complaintsById = complaintRepository.findAllById(recentIds).stream()
+                .collect(Collectors.toMap(Complaint::getId, Function.identity()));
+
+        return recentIds.stream()
+                .map(complaintsById::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .toList();
     }
 
     private ComplaintResponseDTO convertToDTO(Complaint complaint) {
@@ -437,10 +410,9 @@ public class DashboardService {
         }
         // If neither, the fields remain null
 
-        // Counts - these would be populated from other repositories in a real implementation
-        dto.setAttachmentCount(0L);
-        dto.setCommentCount(0L);
-        dto.setLikeCount(0L);
+        dto.setAttachmentCount(complaint.getAttachmentCount());
+        dto.setCommentCount(complaint.getCommentCount());
+        dto.setLikeCount(complaint.getLikeCount());
 
         return dto;
     }
@@ -0,0 +1,255 @@
+package com.resolveit.service;
+
+import com.resolveit.dto.DashboardDeltaDTO;
+import com.resolveit.dto.DashboardDeltaDTO.Change;
+import com.resolveit.dto.DashboardStatsDTO;
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.service.DashboardCacheService.Scope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Live dashboard updates over Server-Sent Events.
+ *
+ * A subscriber first receives a "snapshot" event (the same DashboardStatsDTO
+ * the REST endpoints return) and then a "delta" event for every committed
+ * complaint change visible in its scope, carrying only the counters that moved.
+ *
+ * Each subscriber has its own bounded buffer. If a slow client lets it fill
+ * up, further deltas for that client are dropped and a single "resync" event
+ * is sent once there is room again, telling the client to reload the snapshot.
+ * A comment line is written every heartbeat interval to keep proxies from
+ * closing idle connections.
+ */
+@Service
+@Slf4j
+public class DashboardStreamService {
+
+    private static final class Subscriber {
+        private final Scope scope;
+        private final Long userId;
+        private final Sinks.Many<ServerSentEvent<Object>> sink;
+        private final AtomicBoolean resyncPending = new AtomicBoolean();
+
+        private Subscriber(Scope scope, Long userId, int bufferSize) {
+            this.scope = scope;
+            this.userId = userId;
+            this.sink = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(bufferSize));
+        }
+    }
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+
+    public DashboardStreamService(@Value("${dashboard.stream.buffer-size:256}") int bufferSize,
+                                  @Value("${dashboard.stream.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = Duration.ofSeconds(heartbeatSeconds);
+    }
+
+    public Flux<ServerSentEvent<Object>> subscribe(Scope scope, Long userId, Supplier<DashboardStatsDTO> snapshotLoader) {
+        return Flux.defer(() -> {
+            // Register before loading the snapshot so no committed change is missed; a change
+            // racing the load may show up in both, which the next snapshot corrects
+            Subscriber subscriber = new Subscriber(scope, userId, bufferSize);
+            subscribers.add(subscriber);
+            log.info("📡 Dashboard stream opened ({} {}), {} subscribers", scope, userId, subscribers.size());
+
+            DashboardStatsDTO snapshot;
+            try {
+                snapshot = snapshotLoader.get();
+            } catch (RuntimeException e) {
+                subscribers.remove(subscriber);
+                return Flux.error(e);
+            }
+
+            Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(heartbeatInterval)
+                    .map(tick -> {
+                        flushResync(subscriber);
+                        return ServerSentEvent.builder().comment("heartbeat").build();
+                    })
+                    .onBackpressureDrop();
+
+            return Flux.concat(Mono.just(event("snapshot", snapshot)), subscriber.sink.asFlux())
+                    .mergeWith(heartbeats)
+                    .doFinally(signal -> {
+                        subscribers.remove(subscriber);
+                        log.info("📡 Dashboard stream closed ({} {}): {}", scope, userId, signal);
+                    });
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        List<Change> changes = classify(event);
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            boolean before = inScope(event.getBefore(), subscriber);
+            boolean after = inScope(event.getAfter(), subscriber);
+            if (!before && !after) {
+                continue;
+            }
+
+            Map<String, Long> counters = new TreeMap<>();
+            if (before) contribute(counters, event.getBefore(), subscriber, -1);
+            if (after) contribute(counters, event.getAfter(), subscriber, 1);
+            counters.values().removeIf(delta -> delta == 0);
+
+            DashboardDeltaDTO delta = new DashboardDeltaDTO();
+            delta.setComplaintId(event.getComplaintId());
+            delta.setChanges(changes);
+            delta.setCounters(counters);
+            delta.setTimestamp(LocalDateTime.now());
+            if (event.isCreated() && after) {
+                delta.setRecentComplaint(toRecent(event.getAfter()));
+            }
+
+            emit(subscriber, event("delta", delta));
+        }
+    }
+
+    private void emit(Subscriber subscriber, ServerSentEvent<Object> event) {
+        synchronized (subscriber) {
+            if (subscriber.resyncPending.get() && !tryResync(subscriber)) {
+                return;
+            }
+            Sinks.EmitResult result = subscriber.sink.tryEmitNext(event);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                subscriber.resyncPending.set(true);
+                log.warn("⚠️ Dashboard stream buffer full for {} {}, client will be asked to resync",
+                        subscriber.scope, subscriber.userId);
+            }
+        }
+    }
+
+    private void flushResync(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.resyncPending.get()) {
+                tryResync(subscriber);
+            }
+        }
+    }
+
+    // Caller holds the subscriber lock
+    private boolean tryResync(Subscriber subscriber) {
+        if (subscriber.sink.tryEmitNext(event("resync", Map.of("reason", "buffer overflow"))).isSuccess()) {
+            subscriber.resyncPending.set(false);
+            return true;
+        }
+        return false;
+    }
+
+    private List<Change> classify(ComplaintChangedEvent event) {
+        ComplaintSnapshot before = event.getBefore();
+        ComplaintSnapshot after = event.getAfter();
+        List<Change> changes = new ArrayList<>();
+
+        if (event.isCreated()) {
+            changes.add(Change.CREATED);
+            return changes;
+        }
+        if (event.isDeleted()) {
+            changes.add(Change.DELETED);
+            return changes;
+        }
+
+        if (!Objects.equals(before.getAssignedEmployeeId(), after.getAssignedEmployeeId())) {
+            changes.add(Change.REASSIGNED);
+        }
+        if (!Objects.equals(before.getEscalatedToId(), after.getEscalatedToId())) {
+            changes.add(Change.ESCALATED);
+        }
+        if (before.getStatus() != after.getStatus()) {
+            changes.add(after.isResolved() ? Change.RESOLVED : Change.STATUS_CHANGED);
+        }
+        if (changes.isEmpty() && (!Objects.equals(before.getCategory(), after.getCategory())
+                || before.getUrgency() != after.getUrgency())) {
+            changes.add(Change.UPDATED);
+        }
+        return changes;
+    }
+
+    private boolean inScope(ComplaintSnapshot snapshot, Subscriber subscriber) {
+        if (snapshot == null) {
+            return false;
+        }
+        return switch (subscriber.scope) {
+            case ADMIN -> true;
+            case EMPLOYEE -> subscriber.userId.equals(snapshot.getAssignedEmployeeId())
+                    || subscriber.userId.equals(snapshot.getEscalatedToId());
+            case USER -> subscriber.userId.equals(snapshot.getUserId());
+        };
+    }
+
+    private void contribute(Map<String, Long> counters, ComplaintSnapshot snapshot, Subscriber subscriber, long sign) {
+        counters.merge("totalComplaints", sign, Long::sum);
+        if (snapshot.getStatus() != null) {
+            counters.merge("complaintsByStatus." + snapshot.getStatus().name(), sign, Long::sum);
+            String statusField = switch (snapshot.getStatus()) {
+                case NEW -> "newComplaints";
+                case UNDER_REVIEW -> "inProgressComplaints";
+                case RESOLVED -> "resolvedComplaints";
+            };
+            counters.merge(statusField, sign, Long::sum);
+        }
+        if (snapshot.getCategory() != null) {
+            counters.merge("complaintsByCategory." + snapshot.getCategory(), sign, Long::sum);
+        }
+        if (snapshot.getUrgency() != null) {
+            counters.merge("complaintsByUrgency." + snapshot.getUrgency().name(), sign, Long::sum);
+        }
+        if (snapshot.isEscalated()) {
+            counters.merge("pendingEscalations", sign, Long::sum);
+        }
+        if (subscriber.scope == Scope.EMPLOYEE) {
+            if (subscriber.userId.equals(snapshot.getAssignedEmployeeId())) {
+                counters.merge("assignedToMe", sign, Long::sum);
+            }
+            if (subscriber.userId.equals(snapshot.getEscalatedToId())) {
+                counters.merge("escalatedToMe", sign, Long::sum);
+            }
+        }
+    }
+
+    private DashboardDeltaDTO.RecentComplaint toRecent(ComplaintSnapshot snapshot) {
+        DashboardDeltaDTO.RecentComplaint recent = new DashboardDeltaDTO.RecentComplaint();
+        recent.setId(snapshot.getId());
+        recent.setCategory(snapshot.getCategory());
+        recent.setStatus(snapshot.getStatus());
+        recent.setUrgency(snapshot.getUrgency());
+        recent.setCreatedAt(snapshot.getCreatedAt());
+        return recent;
+    }
+
+    private ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+}
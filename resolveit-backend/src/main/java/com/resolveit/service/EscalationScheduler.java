@@ -0,0 +1,160 @@
+package com.resolveit.service;
+
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.repository.ComplaintRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Runs auto-escalation when the next complaint actually falls due, instead of
+ * polling every minute.
+ *
+ * Each open complaint carries escalation_due_at (see Complaint). After every
+ * run the scheduler reads the earliest deadline from the index and sleeps
+ * until then, waking at least every escalation.max-sleep-seconds as a safety
+ * net. A committed complaint change with an earlier deadline than the one
+ * being waited for pulls the wake-up forward. If complaints are still due
+ * right after a run (for instance, no senior employees exist), the next try is
+ * escalation.retry-seconds later rather than immediately.
+ *
+ * Every instance runs its own scheduler; the database leases in
+ * {@link JobLeaseService} decide which of them does the work.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EscalationScheduler {
+
+    static final String JOB_NAME = "auto-escalation";
+    static final String RECOMPUTE_JOB_NAME = "escalation-due-recompute";
+
+    private final EscalationService escalationService;
+    private final JobLeaseService jobLeaseService;
+    private final ComplaintRepository complaintRepository;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${escalation.threshold.minutes:7}")
+    private int escalationThresholdMinutes;
+
+    @Value("${escalation.max-sleep-seconds:300}")
+    private long maxSleepSeconds;
+
+    @Value("${escalation.retry-seconds:30}")
+    private long retrySeconds;
+
+    // Must exceed the longest escalation run; a crashed holder blocks the job for at most this long
+    @Value("${escalation.lease-seconds:300}")
+    private long leaseSeconds;
+
+    // Guarded by this
+    private ScheduledFuture<?> nextRun;
+    private LocalDateTime nextRunAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // One node rewrites the deadlines; nodes starting alongside it skip the scan
+        jobLeaseService.runExclusive(RECOMPUTE_JOB_NAME, Duration.ofSeconds(leaseSeconds), () -> {
+            int updated = complaintRepository.recomputeEscalationDue(escalationThresholdMinutes);
+            log.info("⏰ Escalation deadlines recomputed for {} complaints (threshold: {} minutes)",
+                    updated, escalationThresholdMinutes);
+        });
+        scheduleNext(false);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        ComplaintSnapshot after = event.getAfter();
+        if (after != null && after.getEscalationDueAt() != null) {
+            wakeAt(after.getEscalationDueAt());
+        }
+    }
+
+    private void run() {
+        synchronized (this) {
+            nextRun = null;
+            nextRunAt = null;
+        }
+        try {
+            runClusterSafe();
+        } catch (RuntimeException e) {
+            log.error("❌ Scheduled escalation run failed: {}", e.getMessage(), e);
+        } finally {
+            scheduleNext(true);
+        }
+    }
+
+    /**
+     * With a single live node the run takes the "auto-escalation" lease and
+     * handles every due complaint. With several, the id space is split into one
+     * range per live node and each range has its own lease; a node starts with
+     * its own range and then picks up any range nobody else is working on, so
+     * the work is still done if a member stops before its heartbeat expires.
+     */
+    private void runClusterSafe() {
+        List<String> nodes = jobLeaseService.getLiveNodes();
+        Duration ttl = Duration.ofSeconds(leaseSeconds);
+        if (nodes.size() <= 1) {
+            jobLeaseService.runExclusive(JOB_NAME, ttl, escalationService::checkAndAutoEscalateComplaints);
+            return;
+        }
+
+        Long maxId = complaintRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        int partitions = nodes.size();
+        long step = maxId / partitions + 1;
+        int self = Math.max(0, nodes.indexOf(jobLeaseService.getNodeId()));
+        for (int i = 0; i < partitions; i++) {
+            int partition = (self + i) % partitions;
+            long fromId = partition * step;
+            long toId = partition == partitions - 1 ? Long.MAX_VALUE : fromId + step;
+            jobLeaseService.runExclusive(JOB_NAME + ":" + partition + "/" + partitions, ttl,
+                    () -> escalationService.escalateDueComplaints(fromId, toId));
+        }
+    }
+
+    private void scheduleNext(boolean afterRun) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime wake = now.plusSeconds(maxSleepSeconds);
+        try {
+            LocalDateTime nextDue = complaintRepository.findNextEscalationDue();
+            if (nextDue != null && nextDue.isBefore(wake)) {
+                wake = nextDue;
+            }
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Could not read the next escalation deadline: {}", e.getMessage());
+            wake = now.plusSeconds(retrySeconds);
+        }
+        if (afterRun && !wake.isAfter(now)) {
+            wake = now.plusSeconds(retrySeconds);
+        }
+        wakeAt(wake);
+    }
+
+    private synchronized void wakeAt(LocalDateTime wake) {
+        if (nextRun != null && !nextRun.isDone() && !nextRunAt.isAfter(wake)) {
+            return;
+        }
+        if (nextRun != null) {
+            nextRun.cancel(false);
+        }
+        nextRunAt = wake;
+        nextRun = taskScheduler.schedule(this::run, wake.atZone(ZoneId.systemDefault()).toInstant());
+        log.debug("⏰ Next escalation check at {}", wake);
+    }
+}
@@ -9,13 +9,12 @@ import com.resolveit.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,116 +23,160 @@ public class EscalationService {
 
     private final ComplaintRepository complaintRepository;
     private final UserRepository userRepository;
+    private final SeniorWorkloadIndex seniorWorkloadIndex;
+
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${escalation.threshold.minutes:7}")
     private int escalationThresholdMinutes;
 
-    @Scheduled(cron = "${escalation.check.cron:0 */1 * * * ?}")
-    @Transactional
+    @Value("${escalation.batch-size:200}")
+    private int escalationBatchSize;
+
+    /**
+     * Escalates every overdue complaint to the currently least-loaded senior.
+     *
+     * Senior loads are read from the database by each chunk and kept in a min-heap,
+     * so picking a senior costs O(log n). Complaints are handled in chunks of
+     * escalation.batch-size, each in its own transaction whose updates Hibernate
+     * sends as JDBC batches. A failed chunk is rolled back and logged.
+     *
+     * Only complaints whose escalation_due_at has passed are read, so the query
+     * is an index range scan. Runs are triggered by {@link EscalationScheduler}
+     * when the next deadline comes up.
+     */
     public void checkAndAutoEscalateComplaints() {
-        log.info("🔄 Starting auto-escalation check... (Threshold: {} minutes)", escalationThresholdMinutes);
+        escalateDueComplaints(null, null);
+    }
 
+    /**
+     * Escalates the overdue complaints with fromId &lt;= id &lt; toId (all of them when
+     * both are null), as one partition of a run shared between cluster nodes.
+     *
+     * Each chunk locks the senior rows and then its complaint rows inside its
+     * transaction, so nodes working on other partitions at the same time can never
+     * escalate a complaint twice, and their chunks choose seniors in turn.
+     * Every chunk reads the senior loads after taking those locks, so they
+     * include the chunks committed before it on any node.
+     */
+    public int escalateDueComplaints(Long fromId, Long toId) {
+        log.info("🔄 Starting auto-escalation check... (Threshold: {} minutes, ids {}..{})",
+                escalationThresholdMinutes, fromId != null ? fromId : "min", toId != null ? toId : "max");
+
+        int escalated = 0;
         try {
-            LocalDateTime thresholdDate = LocalDateTime.now().minusMinutes(escalationThresholdMinutes);
-
             // Get complaints that need escalation
-            List<Complaint> complaintsToEscalate = complaintRepository.findComplaintsForEscalation(thresholdDate);
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> complaintIds = fromId == null && toId == null
+                    ? complaintRepository.findComplaintIdsDueForEscalation(now)
+                    : complaintRepository.findComplaintIdsDueForEscalationInRange(now,
+                            fromId != null ? fromId : Long.MIN_VALUE, toId != null ? toId : Long.MAX_VALUE);
 
-            if (complaintsToEscalate.isEmpty()) {
+            if (complaintIds.isEmpty()) {
                 log.info("✅ No complaints need escalation");
-                return;
+                return 0;
             }
 
-            log.info("📊 Found {} complaints requiring escalation", complaintsToEscalate.size());
-
-            // Get all senior employees
-            List<User> seniorEmployees = userRepository.findAll().stream()
-                    .filter(u -> u.getRole() == User.Role.SENIOR_EMPLOYEE)
-                    .collect(Collectors.toList());
+            log.info("📊 Found {} complaints requiring escalation", complaintIds.size());
 
-            if (seniorEmployees.isEmpty()) {
-                log.warn("⚠️ No senior employees available for escalation");
-                return;
+            for (int from = 0; from < complaintIds.size(); from += escalationBatchSize) {
+                List<Long> chunk = complaintIds.subList(from, Math.min(from + escalationBatchSize, complaintIds.size()));
+                try {
+                    Integer count = transactionTemplate.execute(status -> escalateChunk(chunk));
+                    if (count == null) {
+                        break;
+                    }
+                    escalated += count;
+                } catch (Exception e) {
+                    log.error("❌ Error escalating complaints {}..{}: {}",
+                            chunk.get(0), chunk.get(chunk.size() - 1), e.getMessage(), e);
+                }
             }
 
-            log.info("👥 Available senior employees: {}", seniorEmployees.size());
-
-            // Calculate current load for each senior employee
-            Map<Long, Integer> seniorLoadMap = new HashMap<>();
-            for (User senior : seniorEmployees) {
-                // Get escalated complaints count
-                Long escalatedCount = complaintRepository.countByEscalatedTo(senior);
-                if (escalatedCount == null) escalatedCount = 0L;
-
-                // Get assigned complaints (not escalated) count
-                List<Complaint> assignedComplaints = complaintRepository.findByAssignedEmployee(senior);
-                long unresolvedAssigned = assignedComplaints.stream()
-                        .filter(c -> c.getStatus() != ComplaintState.RESOLVED && c.getEscalatedTo() == null)
-                        .count();
-
-                int totalLoad = (int) (escalatedCount + unresolvedAssigned);
-                seniorLoadMap.put(senior.getId(), totalLoad);
-                log.debug("Senior {}: {} escalated + {} assigned = {} total load",
-                        senior.getEmail(), escalatedCount, unresolvedAssigned, totalLoad);
-            }
+            log.info("✅ Auto-escalation completed. {} complaints escalated.", escalated);
 
-            // Escalate each complaint to the senior with least load
-            for (Complaint complaint : complaintsToEscalate) {
-                try {
-                    // Find senior with minimum load
-                    Long bestSeniorId = seniorLoadMap.entrySet().stream()
-                            .min(Map.Entry.comparingByValue())
-                            .map(Map.Entry::getKey)
-                            .orElse(null);
-
-                    if (bestSeniorId == null) {
-                        log.error("❌ No suitable senior found for complaint {}", complaint.getId());
-                        continue;
-                    }
+        } catch (Exception e) {
+            log.error("❌ Error in auto-escalation check: {}", e.getMessage(), e);
+        }
+        return escalated;
+    }
 
-                    User bestSenior = userRepository.findById(bestSeniorId)
-                            .orElseThrow(() -> new RuntimeException("Senior employee not found"));
-
-                    // Update complaint with escalation
-                    complaint.setEscalatedTo(bestSenior);
-                    complaint.setEscalationDate(LocalDateTime.now());
-                    complaint.setEscalationReason("Auto-escalated: Unresolved for " +
-                            escalationThresholdMinutes + " minutes. Assigned to senior with least workload.");
-                    complaint.setUpdatedAt(LocalDateTime.now());
-
-                    // If complaint was assigned to someone else, keep that info for tracking
-                    if (complaint.getAssignedEmployee() == null) {
-                        // If unassigned, assign to the senior
-                        complaint.setAssignedEmployee(bestSenior);
-                        complaint.setAssignedAt(LocalDateTime.now());
-                    }
+    private record SeniorLoad(Long seniorId, long load) {
+    }
 
-                    // Update status if it's NEW
-                    if (complaint.getStatus() == ComplaintState.NEW) {
-                        complaint.setStatus(ComplaintState.UNDER_REVIEW);
-                    }
+    // Reads the loads from the database rather than this node's workload index, which lags other nodes
+    private PriorityQueue<SeniorLoad> loadSeniors(Collection<User> seniors) {
+        Map<Long, Long> loads = new HashMap<>();
+        for (Object[] row : complaintRepository.getHandlerLoadsByRole(User.Role.SENIOR_EMPLOYEE)) {
+            loads.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        PriorityQueue<SeniorLoad> heap = new PriorityQueue<>(
+                Comparator.comparingLong(SeniorLoad::load).thenComparing(SeniorLoad::seniorId));
+        for (User senior : seniors) {
+            heap.add(new SeniorLoad(senior.getId(), loads.getOrDefault(senior.getId(), 0L)));
+        }
+        return heap;
+    }
 
-                    complaint.setRequiresEscalation(false); // Clear the flag since we're escalating it
+    /**
+     * Returns null when there is no senior to escalate to.
+     *
+     * The senior rows are locked before anything else, so chunks running at the
+     * same time on other nodes pick seniors one chunk at a time instead of all
+     * choosing the same least-loaded senior; complaint rows are locked after them.
+     */
+    private Integer escalateChunk(List<Long> complaintIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, User> seniorsById = new HashMap<>();
+        for (User senior : userRepository.findByRoleForUpdate(User.Role.SENIOR_EMPLOYEE)) {
+            seniorsById.put(senior.getId(), senior);
+        }
+        if (seniorsById.isEmpty()) {
+            log.warn("⚠️ No senior employees available for escalation");
+            return null;
+        }
 
-                    Complaint savedComplaint = complaintRepository.save(complaint);
+        List<Complaint> complaints = complaintRepository.findAllByIdForUpdate(complaintIds);
+        PriorityQueue<SeniorLoad> seniors = loadSeniors(seniorsById.values());
 
-                    // Update the load map
-                    seniorLoadMap.put(bestSeniorId, seniorLoadMap.get(bestSeniorId) + 1);
+        int escalated = 0;
+        for (Complaint complaint : complaints) {
+            // Skip complaints resolved, escalated or otherwise no longer due since the ids were read
+            if (complaint.getEscalatedTo() != null || complaint.getStatus() == ComplaintState.RESOLVED
+                    || complaint.getEscalationDueAt() == null || complaint.getEscalationDueAt().isAfter(now)) {
+                continue;
+            }
 
-                    log.info("✅ Escalated complaint {} to senior {} (Email: {}) (New load: {})",
-                            complaint.getId(), bestSenior.getFullName(), bestSenior.getEmail(),
-                            seniorLoadMap.get(bestSeniorId));
+            SeniorLoad least = seniors.poll();
+            User bestSenior = seniorsById.get(least.seniorId());
 
-                } catch (Exception e) {
-                    log.error("❌ Error escalating complaint {}: {}", complaint.getId(), e.getMessage(), e);
-                }
+            complaint.setEscalatedTo(bestSenior);
+            complaint.setEscalationDate(now);
+            complaint.setEscalationReason("Auto-escalated: Unresolved for " +
+                    escalationThresholdMinutes + " minutes. Assigned to senior with least workload.");
+            complaint.setUpdatedAt(now);
+
+            // If complaint was assigned to someone else, keep that info for tracking
+            if (complaint.getAssignedEmployee() == null) {
+                complaint.setAssignedEmployee(bestSenior);
+                complaint.setAssignedAt(now);
             }
 
-            log.info("✅ Auto-escalation completed. {} complaints escalated.", complaintsToEscalate.size());
+            if (complaint.getStatus() == ComplaintState.NEW) {
+                complaint.setStatus(ComplaintState.UNDER_REVIEW);
+            }
 
-        } catch (Exception e) {
-            log.error("❌ Error in auto-escalation check: {}", e.getMessage(), e);
+            complaint.setRequiresEscalation(false);
+
+            seniors.add(new SeniorLoad(least.seniorId(), least.load() + 1));
+            escalated++;
+
+            log.debug("Escalated complaint {} to senior {} (new load: {})",
+                    complaint.getId(), least.seniorId(), least.load() + 1);
         }
+
+        // Dirty entities are flushed at commit as batched updates
+        return escalated;
     }
 
     @Transactional
@@ -201,8 +244,7 @@ public class EscalationService {
 
     @Transactional(readOnly = true)
     public List<Complaint> getComplaintsRequiringEscalation() {
-        LocalDateTime thresholdDate = LocalDateTime.now().minusMinutes(escalationThresholdMinutes);
-        List<Complaint> complaints = complaintRepository.findComplaintsForEscalation(thresholdDate);
+        List<Complaint> complaints = complaintRepository.findComplaintsDueForEscalation(LocalDateTime.now());
         log.info("Found {} complaints requiring escalation (threshold: {} minutes)",
                 complaints.size(), escalationThresholdMinutes);
         return complaints;
@@ -210,51 +252,34 @@ public class EscalationService {
 
     @Transactional(readOnly = true)
     public Map<String, Object> getSeniorEmployeeLoad() {
-        List<User> seniorEmployees = userRepository.findAll().stream()
-                .filter(u -> u.getRole() == User.Role.SENIOR_EMPLOYEE)
-                .collect(Collectors.toList());
+        List<User> seniorEmployees = userRepository.findByRole(User.Role.SENIOR_EMPLOYEE);
 
         Map<String, Object> result = new HashMap<>();
         List<Map<String, Object>> loadData = new ArrayList<>();
 
-        int totalEscalatedComplaints = 0;
+        long totalEscalatedComplaints = 0;
 
+        // Counts come from the workload index instead of loading each senior's complaints
         for (User se : seniorEmployees) {
-            // Get escalated complaints
-            List<Complaint> escalatedComplaints = complaintRepository.findByEscalatedTo(se);
-
-            // Get assigned complaints (not escalated)
-            List<Complaint> assignedComplaints = complaintRepository.findByAssignedEmployee(se);
-            long unresolvedAssigned = assignedComplaints.stream()
-                    .filter(c -> c.getStatus() != ComplaintState.RESOLVED && c.getEscalatedTo() == null)
-                    .count();
-
-            // Calculate resolution rate for escalated complaints
-            long totalHandled = escalatedComplaints.size();
-            long resolvedEscalated = escalatedComplaints.stream()
-                    .filter(c -> c.getStatus() == ComplaintState.RESOLVED)
-                    .count();
-
-            double resolutionRate = totalHandled > 0 ?
-                    ((double) resolvedEscalated / totalHandled) * 100 : 0.0;
+            SeniorWorkloadIndex.Workload workload = seniorWorkloadIndex.get(se.getId());
 
             Map<String, Object> data = new HashMap<>();
             data.put("id", se.getId());
             data.put("name", se.getFullName());
             data.put("email", se.getEmail());
-            data.put("escalatedCount", escalatedComplaints.size());
-            data.put("assignedCount", unresolvedAssigned);
-            data.put("totalLoad", escalatedComplaints.size() + unresolvedAssigned);
-            data.put("resolutionRate", Math.round(resolutionRate * 100.0) / 100.0);
-            data.put("totalHandled", totalHandled);
-            data.put("resolvedCount", resolvedEscalated);
+            data.put("escalatedCount", workload.escalated());
+            data.put("assignedCount", workload.assignedUnresolved());
+            data.put("totalLoad", workload.totalLoad());
+            data.put("resolutionRate", Math.round(workload.resolutionRate() * 100.0) / 100.0);
+            data.put("totalHandled", workload.escalated());
+            data.put("resolvedCount", workload.resolvedEscalated());
 
             loadData.add(data);
-            totalEscalatedComplaints += escalatedComplaints.size();
+            totalEscalatedComplaints += workload.escalated();
         }
 
         // Sort by load (ascending - least loaded first)
-        loadData.sort(Comparator.comparingInt(d -> (Integer) d.get("totalLoad")));
+        loadData.sort(Comparator.comparingLong(d -> (Long) d.get("totalLoad")));
 
         result.put("seniorEmployees", loadData);
         result.put("totalSeniorEmployees", seniorEmployees.size());
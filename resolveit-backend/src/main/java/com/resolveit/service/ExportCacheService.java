@@ -0,0 +1,220 @@
+package com.resolveit.service;
+
+import com.resolveit.dto.ComplaintFilter;
+import com.resolveit.model.User;
+import com.resolveit.service.DashboardCacheService.Scope;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of generated complaint exports.
+ *
+ * An entry is keyed by the export scope (all complaints for admins, the
+ * employee's handled complaints, or the user's own), the format, the
+ * normalized filters and the data version at the time it was generated. The
+ * data version is the WRITES counter of {@link ComplaintStatsService}, read
+ * for every lookup. It goes up in the same transaction as every complaint
+ * write and every change to a user's name or email (exports embed both), so a
+ * cached file is only ever served while nothing it shows has changed since it
+ * was built, whichever instance made the change.
+ *
+ * Files are generated while the first response streams (the output is teed
+ * into a temp file) and published only if the export completed. The least
+ * recently used files are deleted once the cache grows past
+ * export.cache.max-size-mb; entries for older data versions go first.
+ */
+@Service
+@Slf4j
+public class ExportCacheService {
+
+    public record CacheKey(Scope scope, Long userId, ExportFormat format, String filters, String version) {
+
+        private String fileName() {
+            String raw = scope + ":" + userId + ":" + format + ":" + filters + ":" + version;
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest, 0, 16) + "." + format.getExtension();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private record CacheEntry(Path file, long size, String version) {
+    }
+
+    public interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private final ComplaintStatsService complaintStatsService;
+    private final Path directory;
+    private final boolean enabled;
+    private final long maxBytes;
+    // Newest version seen; entries for any other version can no longer be hit
+    private volatile String currentVersion = "";
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ExportCacheService(ComplaintStatsService complaintStatsService,
+                              @Value("${export.cache.directory:exports-cache}") String directory,
+                              @Value("${export.cache.enabled:true}") boolean enabled,
+                              @Value("${export.cache.max-size-mb:512}") long maxSizeMb) {
+        this.complaintStatsService = complaintStatsService;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.enabled = enabled;
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    // The index of cached files lives in memory, so files from a previous run are dropped
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        log.info("📁 Export cache in {} (enabled: {}, max {} MB)", directory, enabled, maxBytes / (1024 * 1024));
+    }
+
+    public CacheKey key(User user, ExportFormat format, Map<String, String> filters) {
+        Scope scope;
+        Long scopeId = null;
+        if (user.getRole() == User.Role.ADMIN) {
+            scope = Scope.ADMIN;
+        } else if (user.getRole() == User.Role.EMPLOYEE || user.getRole() == User.Role.SENIOR_EMPLOYEE) {
+            scope = Scope.EMPLOYEE;
+            scopeId = user.getId();
+        } else {
+            scope = Scope.USER;
+            scopeId = user.getId();
+        }
+        // The PDF header names the user who generated it, so PDFs are never shared between admins
+        if (format == ExportFormat.PDF) {
+            scopeId = user.getId();
+        }
+        return new CacheKey(scope, scopeId, format, ComplaintFilter.from(filters).fingerprint(), dataVersion());
+    }
+
+    /**
+     * Read before the export runs, so a file cached under this version holds
+     * data at least as new as the version says.
+     */
+    private String dataVersion() {
+        String version = Long.toString(complaintStatsService.getWriteCount());
+        currentVersion = version;
+        return version;
+    }
+
+    public Optional<Path> lookup(CacheKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (!Files.exists(entry.file())) {
+                remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(entry.file());
+        }
+    }
+
+    /**
+     * Runs {@code export} into {@code out} and, if it completes and the cache is
+     * enabled, keeps a copy of the output under {@code key}.
+     */
+    public void writeThrough(CacheKey key, OutputStream out, Export export) throws IOException {
+        if (!enabled) {
+            export.writeTo(out);
+            return;
+        }
+
+        Path part = Files.createTempFile(directory, "export-", ".part");
+        boolean published = false;
+        try {
+            try (OutputStream copy = new BufferedOutputStream(Files.newOutputStream(part))) {
+                TeeOutputStream tee = new TeeOutputStream(out, copy);
+                export.writeTo(tee);
+                tee.flush();
+            }
+            publish(key, part);
+            published = true;
+        } finally {
+            if (!published) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    private void publish(CacheKey key, Path part) throws IOException {
+        Path target = directory.resolve(key.fileName());
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        long size = Files.size(target);
+
+        synchronized (entries) {
+            CacheEntry previous = entries.put(key, new CacheEntry(target, size, key.version()));
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += size;
+            evict();
+        }
+        log.debug("💾 Cached {} export for {} {} ({} bytes)", key.format(), key.scope(), key.userId(), size);
+    }
+
+    // Caller holds the entries lock
+    private void evict() {
+        String current = currentVersion;
+        entries.entrySet().removeIf(e -> {
+            if (!e.getValue().version().equals(current)) {
+                discard(e.getValue());
+                return true;
+            }
+            return false;
+        });
+
+        Iterator<Map.Entry<CacheKey, CacheEntry>> lru = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && lru.hasNext()) {
+            CacheEntry entry = lru.next().getValue();
+            lru.remove();
+            discard(entry);
+        }
+    }
+
+    // Caller holds the entries lock
+    private void remove(CacheKey key) {
+        CacheEntry entry = entries.remove(key);
+        if (entry != null) {
+            discard(entry);
+        }
+    }
+
+    private void discard(CacheEntry entry) {
+        totalBytes -= entry.size();
+        try {
+            Files.deleteIfExists(entry.file());
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete cached export {}: {}", entry.file(), e.getMessage());
+        }
+    }
+}
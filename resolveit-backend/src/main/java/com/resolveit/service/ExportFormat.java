@@ -0,0 +1,45 @@
+package com.resolveit.service;
+
+/**
+ * Export file formats with their response content type and file extension.
+ * CSV_GZ is the CSV export gzip-compressed while it is written ("csv.gz").
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    CSV_GZ("application/gzip", "csv.gz"),
+    PDF("application/pdf", "pdf"),
+    EXCEL("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public boolean isGzip() {
+        return this == CSV_GZ;
+    }
+
+    // The format the content is rendered in before any compression
+    public ExportFormat getBaseFormat() {
+        return this == CSV_GZ ? CSV : this;
+    }
+
+    public static ExportFormat from(String format) {
+        try {
+            return valueOf(format.toUpperCase().replace('.', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+}
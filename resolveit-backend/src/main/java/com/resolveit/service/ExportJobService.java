@@ -0,0 +1,283 @@
+package com.resolveit.service;
+
+import com.resolveit.model.ExportJob;
+import com.resolveit.model.ExportJob.Status;
+import com.resolveit.model.ExportJob.Type;
+import com.resolveit.model.User;
+import com.resolveit.repository.ExportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs exports in the background so large reports do not hold a Tomcat thread
+ * (and a database transaction) for the whole time it takes to build them.
+ *
+ * Submitted jobs are stored in export_jobs and go to this instance's bounded
+ * worker pool, which writes the file into export.directory, first as
+ * "<id>.part" and renamed once complete. Clients poll the job (or subscribe to
+ * its progress stream) through any instance and download the file when it is
+ * COMPLETED, so with more than one instance export.directory has to be storage
+ * they all share. The running instance saves the row count every
+ * export.jobs.progress-ms. Jobs whose instance has left the cluster (see
+ * {@link JobLeaseService}) before finishing are marked FAILED. Finished jobs
+ * and their files are removed after export.jobs.ttl-minutes; each user may
+ * have at most export.jobs.max-per-user jobs queued or running at once.
+ */
+@Service
+@Slf4j
+public class ExportJobService {
+
+    private static final List<Status> ACTIVE = List.of(Status.QUEUED, Status.RUNNING);
+
+    private final ExportService exportService;
+    private final ExportJobRepository exportJobRepository;
+    private final JobLeaseService jobLeaseService;
+    private final Path directory;
+    private final long maxRecords;
+    private final int maxJobsPerUser;
+    private final Duration ttl;
+    private final ThreadPoolExecutor workers;
+    // Live row counts of the jobs running on this instance
+    private final Map<String, AtomicLong> progress = new ConcurrentHashMap<>();
+
+    public ExportJobService(ExportService exportService,
+                            ExportJobRepository exportJobRepository,
+                            JobLeaseService jobLeaseService,
+                            @Value("${export.directory:exports}") String directory,
+                            @Value("${export.max-records:10000}") long maxRecords,
+                            @Value("${export.jobs.workers:2}") int workerCount,
+                            @Value("${export.jobs.queue-capacity:20}") int queueCapacity,
+                            @Value("${export.jobs.max-per-user:2}") int maxJobsPerUser,
+                            @Value("${export.jobs.ttl-minutes:60}") long ttlMinutes) {
+        this.exportService = exportService;
+        this.exportJobRepository = exportJobRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxRecords = maxRecords;
+        this.maxJobsPerUser = maxJobsPerUser;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("export-worker-"));
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        log.info("📁 Export jobs write to {}", directory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public ExportJob submit(User user, Type type, ExportFormat format, Map<String, String> filters) {
+        ExportJob job = new ExportJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setUserId(user.getId());
+        job.setType(type);
+        job.setFormat(format);
+        job.setFilters(new HashMap<>(filters));
+        job.setNodeId(jobLeaseService.getNodeId());
+        job.setCreatedAt(LocalDateTime.now());
+
+        // The count covers every instance; the lock only stops this one racing itself
+        synchronized (this) {
+            long active = exportJobRepository.countByUserIdAndStatusIn(user.getId(), ACTIVE);
+            if (active >= maxJobsPerUser) {
+                throw new IllegalStateException("You already have " + active + " exports in progress");
+            }
+            job = exportJobRepository.save(job);
+        }
+
+        try {
+            ExportJob submitted = job;
+            workers.execute(() -> run(submitted, user));
+        } catch (RejectedExecutionException e) {
+            exportJobRepository.delete(job);
+            throw new IllegalStateException("Export queue is full, please try again later");
+        }
+
+        log.info("📤 Export job {} queued: {} {} for user {}", job.getId(), type, format, user.getEmail());
+        return job;
+    }
+
+    public Optional<ExportJob> getJob(String jobId, User user) {
+        return exportJobRepository.findById(jobId)
+                .filter(job -> job.getUserId().equals(user.getId()))
+                .map(this::withLiveProgress);
+    }
+
+    public List<ExportJob> getJobs(User user) {
+        return exportJobRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream()
+                .map(this::withLiveProgress)
+                .toList();
+    }
+
+    // The finished file, if it can be read from this instance
+    public Optional<Path> getFile(ExportJob job) {
+        if (job.getStatus() != Status.COMPLETED || job.getFilePath() == null) {
+            return Optional.empty();
+        }
+        Path file = Paths.get(job.getFilePath());
+        return Files.isReadable(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${export.jobs.progress-ms:2000}")
+    public void saveProgress() {
+        progress.forEach((jobId, rows) -> exportJobRepository.updateProgress(jobId, rows.get()));
+    }
+
+    /**
+     * Fails jobs left unfinished by an instance that is gone, then drops expired
+     * jobs with their files, plus any files no job refers to (for instance from
+     * a job that failed while its instance was down).
+     */
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-ms:300000}")
+    public void cleanupExpiredJobs() {
+        Set<String> liveNodes = new HashSet<>(jobLeaseService.getLiveNodes());
+        for (ExportJob job : exportJobRepository.findByStatusIn(ACTIVE)) {
+            if (!liveNodes.contains(job.getNodeId()) && exportJobRepository.markFailed(job.getId(),
+                    "Interrupted: the server running this export stopped", LocalDateTime.now()) > 0) {
+                log.warn("⚠️ Export job {} was interrupted on {}", job.getId(), job.getNodeId());
+            }
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        List<ExportJob> expired = exportJobRepository.findByFinishedAtBefore(cutoff);
+        expired.forEach(job -> deleteQuietly(job.getFilePath() != null ? Paths.get(job.getFilePath()) : null));
+        exportJobRepository.deleteAll(expired);
+        int removed = expired.size();
+
+        Set<Path> live = new HashSet<>();
+        exportJobRepository.findAll().forEach(job -> {
+            live.add(directory.resolve(job.getId() + ".part"));
+            if (job.getFilePath() != null) live.add(Paths.get(job.getFilePath()));
+        });
+        Instant fileCutoff = Instant.now().minus(ttl);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                if (!live.contains(file) && Files.getLastModifiedTime(file).toInstant().isBefore(fileCutoff)) {
+                    deleteQuietly(file);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not scan export directory {}: {}", directory, e.getMessage());
+        }
+
+        if (removed > 0) {
+            log.info("🧹 Removed {} expired export jobs/files", removed);
+        }
+    }
+
+    private ExportJob withLiveProgress(ExportJob job) {
+        AtomicLong rows = progress.get(job.getId());
+        if (rows != null) {
+            job.setRowsWritten(rows.get());
+        }
+        return job;
+    }
+
+    // Any failure, including saving the job itself, ends with the row marked FAILED
+    private void run(ExportJob job, User user) {
+        String jobId = job.getId();
+        AtomicLong rows = new AtomicLong();
+        progress.put(jobId, rows);
+        Path part = directory.resolve(jobId + ".part");
+        Path target = null;
+
+        try {
+            job.setStatus(Status.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job = exportJobRepository.save(job);
+
+            boolean truncated;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                truncated = write(job, user, out, rows);
+            }
+
+            target = directory.resolve(job.getFileName());
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.setFilePath(target.toString());
+            job.setFileSize(Files.size(target));
+            job.setTruncated(truncated);
+            job.setStatus(Status.COMPLETED);
+            job.setRowsWritten(rows.get());
+            job.setFinishedAt(LocalDateTime.now());
+            exportJobRepository.save(job);
+            log.info("✅ Export job {} completed: {} rows, {} bytes", jobId, rows.get(), job.getFileSize());
+        } catch (Exception e) {
+            log.error("❌ Export job {} failed: {}", jobId, e.getMessage(), e);
+            deleteQuietly(part);
+            deleteQuietly(target);
+            try {
+                exportJobRepository.markFailed(jobId, errorMessage(e), LocalDateTime.now());
+            } catch (RuntimeException markError) {
+                log.error("❌ Could not mark export job {} failed: {}", jobId, markError.getMessage());
+            }
+        } finally {
+            progress.remove(jobId);
+        }
+    }
+
+    // Fits ExportJob.error, whatever the driver or POI put in the message
+    static String errorMessage(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() <= ExportJob.MAX_ERROR_LENGTH
+                ? message : message.substring(0, ExportJob.MAX_ERROR_LENGTH - 3) + "...";
+    }
+
+    // Returns whether rows were left out because of export.max-records
+    private boolean write(ExportJob job, User user, OutputStream out, AtomicLong rows) throws Exception {
+        String format = job.getFormat().getBaseFormat().name();
+        switch (job.getType()) {
+            case COMPLAINTS -> {
+                return exportService.exportComplaintsTo(user, job.getFormat(), job.getFilters(),
+                        out, maxRecords, rows);
+            }
+            case PERFORMANCE -> writeReport(job, out, exportService.exportPerformanceReport(user, format, job.getFilters()));
+            case DASHBOARD -> writeReport(job, out, exportService.exportDashboardData(user, format));
+        }
+        return false;
+    }
+
+    private void writeReport(ExportJob job, OutputStream out, byte[] report) throws IOException {
+        if (job.getFormat().isGzip()) {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, ExportService.GZIP_BUFFER_SIZE);
+            gzip.write(report);
+            gzip.finish();
+        } else {
+            out.write(report);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+}
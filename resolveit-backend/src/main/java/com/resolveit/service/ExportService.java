@@ -4,26 +4,32 @@ import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
+import com.resolveit.dto.ComplaintFilter;
 import com.resolveit.model.Complaint;
 import com.resolveit.model.User;
 import com.resolveit.repository.ComplaintRepository;
 import com.resolveit.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.StringWriter;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @RequiredArgsConstructor
@@ -34,19 +40,70 @@ public class ExportService {
     private final UserRepository userRepository;
     private final DashboardService dashboardService;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${export.chunk-size:500}")
+    private int exportChunkSize;
+
+    static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    static final String[] COMPLAINT_HEADERS = {"ID", "Title", "Category", "Description", "Status",
+            "Urgency", "Anonymous", "Created At", "Updated At",
+            "User Name", "User Email", "Assigned Employee",
+            "Escalated To", "Escalation Reason"};
+
+    /**
+     * Writes at most {@code maxRecords} complaints in the given format to {@code out},
+     * counting rows into {@code rowsWritten} as they go (used for export job progress).
+     * Returns true when more complaints matched than were written.
+     */
     @Transactional(readOnly = true)
-    public byte[] exportComplaints(User user, String format, Map<String, String> filters) throws Exception {
-        java.util.List<Complaint> complaints = getFilteredComplaints(user, filters);
+    public boolean exportComplaintsTo(User user, ExportFormat format, Map<String, String> filters,
+                                      OutputStream out, long maxRecords, AtomicLong rowsWritten) throws IOException {
+        return writeComplaints(user, format, filters, out, maxRecords, rowsWritten);
+    }
 
-        switch (format.toUpperCase()) {
-            case "CSV":
-                return generateComplaintsCSV(complaints, user, filters);
-            case "PDF":
-                return generateComplaintsPDF(complaints, user, filters);
-            case "EXCEL":
-                return generateComplaintsExcel(complaints, user, filters);
-            default:
-                throw new IllegalArgumentException("Unsupported format: " + format);
+    private boolean writeComplaints(User user, ExportFormat format, Map<String, String> filters,
+                                    OutputStream out, long maxRecords, AtomicLong rowsWritten) throws IOException {
+        if (format.isGzip()) {
+            // finish() writes the gzip trailer but leaves the caller's stream open
+            GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            boolean truncated = writeComplaints(user, format.getBaseFormat(), filters, gzip, maxRecords, rowsWritten);
+            gzip.finish();
+            return truncated;
+        }
+
+        try (Stream<Complaint> complaints = streamFilteredComplaints(user, filters)) {
+            Iterator<Complaint> matching = complaints.iterator();
+            Iterator<Complaint> limited = new Iterator<>() {
+                private long remaining = maxRecords;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0 && matching.hasNext();
+                }
+
+                @Override
+                public Complaint next() {
+                    remaining--;
+                    rowsWritten.incrementAndGet();
+                    return matching.next();
+                }
+            };
+
+            switch (format) {
+                case CSV -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    writeComplaintsCSV(() -> limited, writer);
+                    writer.flush();
+                }
+                case EXCEL -> ComplaintExcelWriter.write(() -> limited, out);
+                case PDF -> ComplaintPdfWriter.write(() -> limited, user, filters, out);
+                case CSV_GZ -> throw new IllegalStateException("Compressed formats are unwrapped above");
+            }
+            // Looks one complaint past the cap instead of assuming a full export was cut short
+            return matching.hasNext();
         }
     }
 
@@ -96,139 +153,128 @@ public class ExportService {
 
     // ========== PRIVATE HELPER METHODS ==========
 
-    private java.util.List<Complaint> getFilteredComplaints(User user, Map<String, String> filters) {
-        java.util.List<Complaint> complaints;
+    private Stream<Complaint> streamFilteredComplaints(User user, Map<String, String> filters) {
+        ComplaintFilter filter = ComplaintFilter.from(filters);
 
-        // Determine which complaints to show based on user role
-        if (user.getRole() == User.Role.ADMIN) {
-            // Admin sees all complaints
-            complaints = complaintRepository.findAll();
-        } else if (user.getRole() == User.Role.EMPLOYEE || user.getRole() == User.Role.SENIOR_EMPLOYEE) {
-            // Employees see assigned and escalated complaints
-            java.util.List<Complaint> assignedComplaints = complaintRepository.findByAssignedEmployee(user);
-            java.util.List<Complaint> escalatedComplaints = complaintRepository.findByEscalatedTo(user);
-            complaints = new ArrayList<>();
-            complaints.addAll(assignedComplaints);
-            complaints.addAll(escalatedComplaints);
-        } else {
-            // Regular users see only their own complaints
-            complaints = complaintRepository.findByUser(user);
+        Iterator<Complaint> chunks = new KeysetIterator(filter, scopedUserId(user), scopedHandlerId(user));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Admin sees all complaints, employees the ones assigned or escalated to them,
+    // regular users only their own
+    private static Long scopedUserId(User user) {
+        return isHandler(user) || user.getRole() == User.Role.ADMIN ? null : user.getId();
+    }
+
+    private static Long scopedHandlerId(User user) {
+        return isHandler(user) ? user.getId() : null;
+    }
+
+    private static boolean isHandler(User user) {
+        return user.getRole() == User.Role.EMPLOYEE || user.getRole() == User.Role.SENIOR_EMPLOYEE;
+    }
+
+    /**
+     * Walks the filtered complaints in (createdAt, id) order, one chunk query at a
+     * time. The persistence context is cleared before each new chunk so only the
+     * current chunk stays managed.
+     */
+    private class KeysetIterator implements Iterator<Complaint> {
+        private final ComplaintFilter filter;
+        private final Long userId;
+        private final Long handlerId;
+        private java.util.List<Complaint> chunk = java.util.List.of();
+        private int position;
+        private boolean lastChunk;
+
+        private KeysetIterator(ComplaintFilter filter, Long userId, Long handlerId) {
+            this.filter = filter;
+            this.userId = userId;
+            this.handlerId = handlerId;
         }
 
-        // Apply filters if provided
-        if (filters == null || filters.isEmpty()) {
-            return complaints;
+        @Override
+        public boolean hasNext() {
+            if (position < chunk.size()) {
+                return true;
+            }
+            if (lastChunk) {
+                return false;
+            }
+            Complaint after = chunk.isEmpty() ? null : chunk.get(chunk.size() - 1);
+            entityManager.clear();
+            chunk = complaintRepository.findFilteredChunk(filter, userId, handlerId, after, exportChunkSize);
+            position = 0;
+            lastChunk = chunk.size() < exportChunkSize;
+            return !chunk.isEmpty();
         }
 
-        return complaints.stream()
-                .filter(complaint -> {
-                    if (filters.containsKey("status") && filters.get("status") != null) {
-                        String status = filters.get("status");
-                        if (!complaint.getStatus().name().equals(status)) {
-                            return false;
-                        }
-                    }
-
-                    if (filters.containsKey("category") && filters.get("category") != null) {
-                        String category = filters.get("category");
-                        if (!complaint.getCategory().equalsIgnoreCase(category)) {
-                            return false;
-                        }
-                    }
-
-                    if (filters.containsKey("startDate") && filters.get("startDate") != null) {
-                        LocalDateTime startDate = LocalDateTime.parse(filters.get("startDate") + "T00:00:00");
-                        if (complaint.getCreatedAt().isBefore(startDate)) {
-                            return false;
-                        }
-                    }
-
-                    if (filters.containsKey("endDate") && filters.get("endDate") != null) {
-                        LocalDateTime endDate = LocalDateTime.parse(filters.get("endDate") + "T23:59:59");
-                        if (complaint.getCreatedAt().isAfter(endDate)) {
-                            return false;
-                        }
-                    }
-
-                    if (filters.containsKey("urgency") && filters.get("urgency") != null) {
-                        String urgency = filters.get("urgency");
-                        if (!complaint.getUrgency().name().equals(urgency)) {
-                            return false;
-                        }
-                    }
-
-                    return true;
-                })
-                .collect(Collectors.toList());
+        @Override
+        public Complaint next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk.get(position++);
+        }
     }
 
+    // Totals from one grouped query, so the report never loads the complaints themselves
     private Map<String, Object> getPerformanceData(User user, Map<String, String> filters) {
         Map<String, Object> data = new HashMap<>();
 
-        java.util.List<Complaint> complaints = getFilteredComplaints(user, filters);
+        long total = 0;
+        long escalated = 0;
+        long resolvedTimed = 0;
+        long resolutionHours = 0;
+        Map<String, Long> categoryDistribution = new HashMap<>();
+        Map<String, Long> statusDistribution = new HashMap<>();
+        Map<String, Long> urgencyDistribution = new HashMap<>();
+
+        for (Object[] row : complaintRepository.getFilteredBreakdown(
+                ComplaintFilter.from(filters), scopedUserId(user), scopedHandlerId(user))) {
+            long count = toLong(row[3]);
+            total += count;
+            escalated += toLong(row[4]);
+            resolvedTimed += toLong(row[5]);
+            resolutionHours += toLong(row[6]);
+            statusDistribution.merge(String.valueOf(row[0]), count, Long::sum);
+            categoryDistribution.merge(String.valueOf(row[1]), count, Long::sum);
+            urgencyDistribution.merge(String.valueOf(row[2]), count, Long::sum);
+        }
 
         // Basic stats
-        data.put("totalComplaints", complaints.size());
-        data.put("newComplaints", countByStatus(complaints, "NEW"));
-        data.put("inProgressComplaints", countByStatus(complaints, "UNDER_REVIEW"));
-        data.put("resolvedComplaints", countByStatus(complaints, "RESOLVED"));
-
-        long escalated = complaints.stream()
-                .filter(c -> c.getEscalatedTo() != null)
-                .count();
+        long resolved = statusDistribution.getOrDefault("RESOLVED", 0L);
+        data.put("totalComplaints", total);
+        data.put("newComplaints", statusDistribution.getOrDefault("NEW", 0L));
+        data.put("inProgressComplaints", statusDistribution.getOrDefault("UNDER_REVIEW", 0L));
+        data.put("resolvedComplaints", resolved);
         data.put("escalatedComplaints", escalated);
 
-        double resolutionRate = complaints.isEmpty() ? 0 :
-                (double) countByStatus(complaints, "RESOLVED") / complaints.size() * 100;
+        double resolutionRate = total == 0 ? 0 : (double) resolved / total * 100;
         data.put("resolutionRate", Math.round(resolutionRate * 100.0) / 100.0);
 
         // Time-based stats
-        java.util.List<Complaint> resolvedComplaints = complaints.stream()
-                .filter(c -> c.getStatus().name().equals("RESOLVED"))
-                .filter(c -> c.getCreatedAt() != null && c.getUpdatedAt() != null)
-                .collect(Collectors.toList());
-
-        double avgResolutionTime = resolvedComplaints.isEmpty() ? 0 :
-                resolvedComplaints.stream()
-                        .mapToDouble(c -> java.time.Duration.between(
-                                c.getCreatedAt(), c.getUpdatedAt()).toHours())
-                        .average()
-                        .orElse(0);
+        double avgResolutionTime = resolvedTimed == 0 ? 0 : (double) resolutionHours / resolvedTimed;
         data.put("averageResolutionTime", Math.round(avgResolutionTime * 10.0) / 10.0);
 
-        // Category distribution
-        Map<String, Long> categoryDistribution = complaints.stream()
-                .collect(Collectors.groupingBy(Complaint::getCategory, Collectors.counting()));
         data.put("categoryDistribution", categoryDistribution);
-
-        // Status distribution
-        Map<String, Long> statusDistribution = complaints.stream()
-                .collect(Collectors.groupingBy(c -> c.getStatus().name(), Collectors.counting()));
         data.put("statusDistribution", statusDistribution);
-
-        // Urgency distribution
-        Map<String, Long> urgencyDistribution = complaints.stream()
-                .collect(Collectors.groupingBy(c -> c.getUrgency().name(), Collectors.counting()));
         data.put("urgencyDistribution", urgencyDistribution);
 
         return data;
     }
 
-    private long countByStatus(java.util.List<Complaint> complaints, String status) {
-        return complaints.stream()
-                .filter(c -> c.getStatus().name().equals(status))
-                .count();
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
     }
 
     // ========== CSV GENERATORS ==========
 
-    private byte[] generateComplaintsCSV(java.util.List<Complaint> complaints, User user, Map<String, String> filters) throws IOException {
-        StringWriter writer = new StringWriter();
-        CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT
-                .withHeader("ID", "Title", "Category", "Description", "Status",
-                        "Urgency", "Anonymous", "Created At", "Updated At",
-                        "User Name", "User Email", "Assigned Employee",
-                        "Escalated To", "Escalation Reason"));
+    // Rows are written as they are read
+    private void writeComplaintsCSV(Iterable<Complaint> complaints, Appendable out) throws IOException {
+        CSVPrinter csvPrinter = new CSVPrinter(out, CSVFormat.DEFAULT
+                .withHeader(COMPLAINT_HEADERS));
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -255,9 +301,6 @@ public class ExportService {
         }
 
         csvPrinter.flush();
-        csvPrinter.close();
-
-        return writer.toString().getBytes();
     }
 
     private byte[] generatePerformanceCSV(Map<String, Object> performanceData, User user) throws IOException {
@@ -342,103 +385,6 @@ public class ExportService {
 
     // ========== PDF GENERATORS ==========
 
-    private byte[] generateComplaintsPDF(java.util.List<Complaint> complaints, User user, Map<String, String> filters) throws Exception {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        Document document = new Document(PageSize.A4.rotate());
-        PdfWriter.getInstance(document, baos);
-
-        document.open();
-
-        // Title - Use fully qualified Font class name
-        com.lowagie.text.Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
-        Paragraph title = new Paragraph("Complaints Export Report", titleFont);
-        title.setAlignment(Element.ALIGN_CENTER);
-        title.setSpacingAfter(20);
-        document.add(title);
-
-        // User info
-        com.lowagie.text.Font infoFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
-        Paragraph userInfo = new Paragraph(
-                String.format("Generated by: %s (%s) | Role: %s",
-                        user.getFullName(), user.getEmail(), user.getRole().name()),
-                infoFont);
-        userInfo.setSpacingAfter(10);
-        document.add(userInfo);
-
-        // Filters info
-        if (filters != null && !filters.isEmpty()) {
-            Paragraph filterInfo = new Paragraph("Filters Applied:", infoFont);
-            for (Map.Entry<String, String> entry : filters.entrySet()) {
-                filterInfo.add(new Paragraph(
-                        String.format("  • %s: %s", entry.getKey(), entry.getValue()),
-                        infoFont));
-            }
-            filterInfo.setSpacingAfter(10);
-            document.add(filterInfo);
-        }
-
-        // Summary
-        Paragraph summary = new Paragraph(
-                String.format("Total Complaints: %d | Generated: %s",
-                        complaints.size(), LocalDateTime.now().format(
-                                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))),
-                infoFont);
-        summary.setSpacingAfter(20);
-        document.add(summary);
-
-        // Table
-        PdfPTable table = new PdfPTable(10);
-        table.setWidthPercentage(100);
-
-        // Headers
-        String[] headers = {"ID", "Title", "Category", "Status", "Urgency",
-                "Created", "Days Open", "User", "Employee", "Escalated"};
-
-        com.lowagie.text.Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
-        for (String header : headers) {
-            PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
-            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-            cell.setPadding(5);
-            table.addCell(cell);
-        }
-
-        // Data
-        com.lowagie.text.Font dataFont = FontFactory.getFont(FontFactory.HELVETICA, 8);
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-        for (Complaint complaint : complaints) {
-            table.addCell(createCell(String.valueOf(complaint.getId()), dataFont));
-            table.addCell(createCell(complaint.getTitle(), dataFont));
-            table.addCell(createCell(complaint.getCategory(), dataFont));
-            table.addCell(createCell(complaint.getStatus().name(), dataFont));
-            table.addCell(createCell(complaint.getUrgency().name(), dataFont));
-            table.addCell(createCell(
-                    complaint.getCreatedAt().format(dateFormatter), dataFont));
-
-            long daysOpen = java.time.Duration.between(
-                    complaint.getCreatedAt(), LocalDateTime.now()).toDays();
-            table.addCell(createCell(String.valueOf(daysOpen), dataFont));
-
-            table.addCell(createCell(
-                    complaint.getUser() != null ? complaint.getUser().getFullName() : "Anonymous",
-                    dataFont));
-
-            table.addCell(createCell(
-                    complaint.getAssignedEmployee() != null ?
-                            complaint.getAssignedEmployee().getFullName() : "N/A",
-                    dataFont));
-
-            table.addCell(createCell(
-                    complaint.getEscalatedTo() != null ? "Yes" : "No",
-                    dataFont));
-        }
-
-        document.add(table);
-        document.close();
-
-        return baos.toByteArray();
-    }
-
     private byte[] generatePerformancePDF(Map<String, Object> performanceData, User user,
                                           Map<String, String> filters) throws Exception {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -608,73 +554,6 @@ public class ExportService {
 
     // ========== EXCEL GENERATORS ==========
 
-    private byte[] generateComplaintsExcel(java.util.List<Complaint> complaints, User user, Map<String, String> filters) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Complaints");
-
-            // Create header row - Use fully qualified Row class name for POI
-            org.apache.poi.ss.usermodel.Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "Title", "Category", "Description", "Status",
-                    "Urgency", "Anonymous", "Created At", "Updated At",
-                    "User Name", "User Email", "Assigned Employee",
-                    "Escalated To", "Escalation Reason"};
-
-            CellStyle headerStyle = workbook.createCellStyle();
-            // Use fully qualified Font class name for POI
-            org.apache.poi.ss.usermodel.Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerStyle.setFont(headerFont);
-
-            for (int i = 0; i < headers.length; i++) {
-                org.apache.poi.ss.usermodel.Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-
-            // Create data rows
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            int rowNum = 1;
-
-            for (Complaint complaint : complaints) {
-                org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum++);
-
-                row.createCell(0).setCellValue(complaint.getId());
-                row.createCell(1).setCellValue(complaint.getTitle());
-                row.createCell(2).setCellValue(complaint.getCategory());
-                row.createCell(3).setCellValue(complaint.getDescription());
-                row.createCell(4).setCellValue(complaint.getStatus().name());
-                row.createCell(5).setCellValue(complaint.getUrgency().name());
-                row.createCell(6).setCellValue(complaint.getAnonymous() ? "Yes" : "No");
-                row.createCell(7).setCellValue(complaint.getCreatedAt().format(formatter));
-                row.createCell(8).setCellValue(complaint.getUpdatedAt().format(formatter));
-                row.createCell(9).setCellValue(
-                        complaint.getUser() != null ? complaint.getUser().getFullName() : "Anonymous");
-                row.createCell(10).setCellValue(
-                        complaint.getUser() != null ? complaint.getUser().getEmail() : "");
-                row.createCell(11).setCellValue(
-                        complaint.getAssignedEmployee() != null ?
-                                complaint.getAssignedEmployee().getFullName() : "");
-                row.createCell(12).setCellValue(
-                        complaint.getEscalatedTo() != null ?
-                                complaint.getEscalatedTo().getFullName() : "");
-                row.createCell(13).setCellValue(
-                        complaint.getEscalationReason() != null ?
-                                complaint.getEscalationReason() : "");
-            }
-
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            workbook.write(baos);
-        }
-
-        return baos.toByteArray();
-    }
-
     private byte[] generatePerformanceExcel(Map<String, Object> performanceData, User user) throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
@@ -0,0 +1,228 @@
+package com.resolveit.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Database leases that keep scheduled jobs from running on several backend
+ * instances at once.
+ *
+ * A lease is a row in job_leases with an owner and an expiry. Acquiring it is a
+ * single conditional UPDATE that only succeeds when the lease is free, expired
+ * or already ours, and all expiry checks use the database clock so node clocks
+ * do not have to agree. Lease statements run in their own transaction, so
+ * they commit immediately even when called from inside a @Transactional job.
+ *
+ * Every node also renews a "node:&lt;id&gt;" lease on a timer; the unexpired ones
+ * are the live cluster members used to partition work. The heartbeat has its
+ * own thread, so a long scheduled job cannot delay it past cluster.node-ttl-seconds
+ * and make other nodes think this one has left.
+ */
+@Service
+@Slf4j
+public class JobLeaseService {
+
+    private static final String NODE_PREFIX = "node:";
+
+    private static final String CREATE_SQL =
+            "INSERT IGNORE INTO job_leases (job_name, owner, lease_until) VALUES (?, NULL, '1970-01-02 00:00:00')";
+
+    // acquired_at is assigned first because MySQL applies SET clauses left to right
+    private static final String ACQUIRE_SQL =
+            "UPDATE job_leases SET " +
+            "acquired_at = IF(owner <=> ? AND lease_until >= NOW(6), acquired_at, NOW(6)), " +
+            "owner = ?, lease_until = TIMESTAMPADD(MICROSECOND, ?, NOW(6)) " +
+            "WHERE job_name = ? AND (owner <=> ? OR lease_until < NOW(6))";
+
+    private static final String RELEASE_SQL =
+            "UPDATE job_leases SET lease_until = NOW(6) WHERE job_name = ? AND owner = ?";
+
+    private static final String LIVE_NODES_SQL =
+            "SELECT owner FROM job_leases WHERE job_name LIKE 'node:%' AND lease_until >= NOW(6) ORDER BY owner";
+
+    /**
+     * Per-job counters, keyed by job name without any partition suffix.
+     */
+    @Getter
+    public static class LeaseMetrics {
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong acquired = new AtomicLong();
+        private final AtomicLong contended = new AtomicLong();
+        private final AtomicLong runs = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong totalRunMillis = new AtomicLong();
+        private volatile long lastRunMillis;
+        private volatile LocalDateTime lastAcquiredAt;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate leaseTransaction;
+    private final Duration nodeTtl;
+    private final long heartbeatMillis;
+    private final ScheduledExecutorService heartbeatExecutor;
+    private final Map<String, LeaseMetrics> metrics = new ConcurrentHashMap<>();
+
+    @Getter
+    private final String nodeId;
+
+    // Refreshed by the heartbeat so request-path callers never query job_leases
+    private volatile int liveNodeCount = 1;
+
+    public JobLeaseService(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${cluster.node-ttl-seconds:30}") long nodeTtlSeconds,
+                           @Value("${cluster.heartbeat-ms:10000}") long heartbeatMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeTtl = Duration.ofSeconds(nodeTtlSeconds);
+        this.heartbeatMillis = heartbeatMillis;
+        // Daemon, so a context that is never closed does not keep the JVM alive
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cluster-heartbeat-");
+        threadFactory.setDaemon(true);
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.nodeId = hostName() + "-" + ProcessHandle.current().pid() + "-"
+                + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x10000));
+    }
+
+    /**
+     * Claims {@code job} for {@code ttl} if no other node holds it. Returns false
+     * (and counts the contention) when another node's lease is still valid.
+     */
+    public boolean tryAcquire(String job, Duration ttl) {
+        LeaseMetrics jobMetrics = metricsFor(job);
+        jobMetrics.attempts.incrementAndGet();
+
+        Integer updated = leaseTransaction.execute(status -> {
+            jdbcTemplate.update(CREATE_SQL, job);
+            return jdbcTemplate.update(ACQUIRE_SQL, nodeId, nodeId, ttl.toNanos() / 1000, job, nodeId);
+        });
+
+        if (updated != null && updated > 0) {
+            jobMetrics.acquired.incrementAndGet();
+            jobMetrics.lastAcquiredAt = LocalDateTime.now();
+            return true;
+        }
+        jobMetrics.contended.incrementAndGet();
+        return false;
+    }
+
+    public void release(String job) {
+        leaseTransaction.executeWithoutResult(status -> jdbcTemplate.update(RELEASE_SQL, job, nodeId));
+    }
+
+    /**
+     * Runs {@code task} while holding the lease on {@code job}, releasing it
+     * afterwards. Returns false without running anything if the lease is held
+     * elsewhere. The lease ttl must cover the longest expected run.
+     */
+    public boolean runExclusive(String job, Duration ttl, Runnable task) {
+        if (!tryAcquire(job, ttl)) {
+            log.debug("🔒 Skipping {}: lease held by another node", job);
+            return false;
+        }
+
+        LeaseMetrics jobMetrics = metricsFor(job);
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            jobMetrics.failures.incrementAndGet();
+            throw e;
+        } finally {
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            jobMetrics.runs.incrementAndGet();
+            jobMetrics.totalRunMillis.addAndGet(elapsed);
+            jobMetrics.lastRunMillis = elapsed;
+            release(job);
+        }
+        return true;
+    }
+
+    // Sorted ids of the nodes whose heartbeat lease has not expired (always includes this one)
+    public List<String> getLiveNodes() {
+        List<String> nodes = new ArrayList<>(jdbcTemplate.queryForList(LIVE_NODES_SQL, String.class));
+        if (!nodes.contains(nodeId)) {
+            nodes.add(nodeId);
+            Collections.sort(nodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * Whether another node was alive at the last heartbeat. Cheap enough to
+     * call per request; may lag membership changes by one heartbeat interval.
+     */
+    public boolean isClustered() {
+        return liveNodeCount > 1;
+    }
+
+    public Map<String, LeaseMetrics> getMetrics() {
+        return new TreeMap<>(metrics);
+    }
+
+    @PostConstruct
+    public void join() {
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void heartbeat() {
+        try {
+            tryAcquire(NODE_PREFIX + nodeId, nodeTtl);
+            liveNodeCount = getLiveNodes().size();
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Cluster heartbeat failed for {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        heartbeatExecutor.shutdownNow();
+        try {
+            release(NODE_PREFIX + nodeId);
+        } catch (RuntimeException e) {
+            log.debug("Could not release node lease on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private LeaseMetrics metricsFor(String job) {
+        if (job.startsWith(NODE_PREFIX)) {
+            return metrics.computeIfAbsent("heartbeat", name -> new LeaseMetrics());
+        }
+        int partition = job.indexOf(':');
+        return metrics.computeIfAbsent(partition > 0 ? job.substring(0, partition) : job, name -> new LeaseMetrics());
+    }
+
+    private static String hostName() {
+        String host = System.getenv("HOSTNAME");
+        if (host != null && !host.isBlank()) {
+            return host;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
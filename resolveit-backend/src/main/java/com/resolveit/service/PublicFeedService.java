@@ -0,0 +1,154 @@
+package com.resolveit.service;
+
+import com.resolveit.dto.ComplaintFilter;
+import com.resolveit.dto.ComplaintResponseDTO;
+import com.resolveit.dto.PublicFeedPage;
+import com.resolveit.model.Complaint;
+import com.resolveit.repository.ComplaintRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The public complaint feed, newest first, read a page at a time.
+ *
+ * Pages are keyset-paginated on (createdAt, id): the cursor is the position of
+ * the last complaint on the previous page, so every page is one index range
+ * read of page-size + 1 rows no matter how many complaints exist or how deep
+ * the client has scrolled. Users are fetched in the same query and the counts
+ * are the complaint's own counter columns.
+ */
+@Service
+@RequiredArgsConstructor
+public class PublicFeedService {
+
+    private final ComplaintRepository complaintRepository;
+
+    @Value("${public.feed.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${public.feed.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * Position of a complaint in the feed. Encoded for clients as an opaque
+     * URL-safe token.
+     */
+    public record Cursor(LocalDateTime createdAt, Long id) {
+
+        public String encode() {
+            String raw = createdAt + "_" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('_');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        static Cursor of(Complaint complaint) {
+            return new Cursor(complaint.getCreatedAt(), complaint.getId());
+        }
+
+        static Cursor of(ComplaintResponseDTO dto) {
+            return new Cursor(dto.getCreatedAt(), dto.getId());
+        }
+
+        // Whether the complaint comes after this position in feed order
+        boolean isBefore(ComplaintResponseDTO dto) {
+            int byTime = dto.getCreatedAt().compareTo(createdAt);
+            return byTime < 0 || (byTime == 0 && dto.getId() < id);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PublicFeedPage getPage(ComplaintFilter filter, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor.trim());
+
+        // One extra row tells whether another page follows
+        List<Complaint> complaints = complaintRepository.findPublicFeedPage(
+                filter.getStatus(), filter.getCategory(), filter.getUrgency(),
+                after != null ? after.createdAt() : null, after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        String nextCursor = null;
+        if (complaints.size() > pageSize) {
+            complaints = complaints.subList(0, pageSize);
+            nextCursor = Cursor.of(complaints.get(pageSize - 1)).encode();
+        }
+        return new PublicFeedPage(toDTOs(complaints), nextCursor);
+    }
+
+    // Newest public complaints regardless of filters, for PublicFeedSnapshot
+    @Transactional(readOnly = true)
+    public List<ComplaintResponseDTO> loadNewest(int count) {
+        return toDTOs(complaintRepository.findPublicFeedPage(
+                null, null, null, null, null, PageRequest.of(0, count)));
+    }
+
+    // Public complaints in the order of ids; ids that are missing or no longer public are skipped
+    @Transactional(readOnly = true)
+    public List<ComplaintResponseDTO> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Complaint> byId = complaintRepository.findPublicByIdIn(ids).stream()
+                .collect(Collectors.toMap(Complaint::getId, Function.identity()));
+        return toDTOs(ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList()));
+    }
+
+    public int pageSize(Integer limit) {
+        return limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    public List<ComplaintResponseDTO> toDTOs(List<Complaint> complaints) {
+        return complaints.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private ComplaintResponseDTO toDTO(Complaint complaint) {
+        ComplaintResponseDTO dto = new ComplaintResponseDTO();
+        dto.setId(complaint.getId());
+        dto.setTitle(complaint.getTitle());
+        dto.setCategory(complaint.getCategory());
+        dto.setDescription(complaint.getDescription());
+        dto.setStatus(complaint.getStatus());
+        dto.setUrgency(complaint.getUrgency());
+        dto.setAnonymous(complaint.getAnonymous());
+        dto.setIsPublic(complaint.getIsPublic());
+        dto.setCreatedAt(complaint.getCreatedAt());
+        dto.setUpdatedAt(complaint.getUpdatedAt());
+
+        if (!complaint.getAnonymous() && complaint.getUser() != null) {
+            dto.setUserId(complaint.getUser().getId());
+            dto.setUserFullName(complaint.getUser().getFullName());
+            dto.setUserEmail(complaint.getUser().getEmail());
+        }
+
+        dto.setAttachmentCount(complaint.getAttachmentCount());
+        dto.setCommentCount(complaint.getCommentCount());
+        dto.setLikeCount(complaint.getLikeCount());
+
+        return dto;
+    }
+}
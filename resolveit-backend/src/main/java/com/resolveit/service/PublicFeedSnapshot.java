@@ -0,0 +1,161 @@
+package com.resolveit.service;
+
+import com.resolveit.dto.ComplaintFilter;
+import com.resolveit.dto.ComplaintResponseDTO;
+import com.resolveit.dto.PublicFeedPage;
+import com.resolveit.event.ComplaintActivityEvent;
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.service.PublicFeedService.Cursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * The first public.feed.snapshot-pages pages of the unfiltered public feed,
+ * held in memory so the common feed request never reaches MySQL.
+ *
+ * The snapshot is an immutable list that is only ever replaced whole, so
+ * readers take the current reference and page through it without locking.
+ * Committed changes to a public complaint, and likes, comments or attachments
+ * on a complaint in the snapshot, schedule a rebuild on the task scheduler
+ * after public.feed.snapshot.rebuild-delay-ms; changes arriving before it runs
+ * share that rebuild. A slower periodic refresh picks up changes committed on
+ * other nodes. Filtered requests, and cursors past the end of the snapshot,
+ * are read from the database by {@link PublicFeedService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PublicFeedSnapshot {
+
+    /**
+     * {@code complete} means the feed has no complaints beyond {@code items}.
+     * The DTOs are shared between requests and must not be modified.
+     */
+    record Snapshot(List<ComplaintResponseDTO> items, Set<Long> ids, boolean complete) {
+    }
+
+    private final PublicFeedService publicFeedService;
+    private final ContentVersionService contentVersionService;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${public.feed.snapshot-pages:5}")
+    private int snapshotPages;
+
+    @Value("${public.feed.snapshot.rebuild-delay-ms:250}")
+    private long rebuildDelayMs;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    /**
+     * Same contract as {@link PublicFeedService#getPage}, served from the
+     * snapshot whenever it holds the whole requested page.
+     */
+    public PublicFeedPage getPage(ComplaintFilter filter, String cursor, Integer limit) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null || !filter.isEmpty()) {
+            return publicFeedService.getPage(filter, cursor, limit);
+        }
+
+        int pageSize = publicFeedService.pageSize(limit);
+        List<ComplaintResponseDTO> items = snapshot.items();
+        int from = cursor == null || cursor.isBlank() ? 0 : startAfter(items, Cursor.decode(cursor.trim()));
+        int to = from + pageSize;
+        if (to > items.size() && !snapshot.complete()) {
+            return publicFeedService.getPage(filter, cursor, limit);
+        }
+
+        to = Math.min(to, items.size());
+        boolean more = to < items.size() || !snapshot.complete();
+        String nextCursor = more && to > from ? Cursor.of(items.get(to - 1)).encode() : null;
+        return new PublicFeedPage(items.subList(from, to), nextCursor);
+    }
+
+    public void requestRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> rebuild(true), Instant.now().plusMillis(rebuildDelayMs));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        if (isPublic(event.getBefore()) || isPublic(event.getAfter())) {
+            requestRebuild();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintActivity(ComplaintActivityEvent event) {
+        Snapshot snapshot = current.get();
+        if (snapshot != null && snapshot.ids().contains(event.getComplaintId())) {
+            requestRebuild();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild(false);
+    }
+
+    @Scheduled(fixedDelayString = "${public.feed.snapshot.refresh-ms:60000}",
+            initialDelayString = "${public.feed.snapshot.refresh-ms:60000}")
+    public void refresh() {
+        rebuild(false);
+    }
+
+    // Synchronized so an older query result can never replace a newer one
+    private synchronized void rebuild(boolean changed) {
+        // Cleared first so a change committed during the query schedules another rebuild
+        rebuildScheduled.set(false);
+        int capacity = snapshotPages * publicFeedService.pageSize(null);
+        try {
+            List<ComplaintResponseDTO> newest = publicFeedService.loadNewest(capacity + 1);
+            boolean complete = newest.size() <= capacity;
+            List<ComplaintResponseDTO> items = List.copyOf(complete ? newest : newest.subList(0, capacity));
+            Set<Long> ids = items.stream().map(ComplaintResponseDTO::getId).collect(Collectors.toUnmodifiableSet());
+            current.set(new Snapshot(items, ids, complete));
+            if (changed) {
+                contentVersionService.feedRefreshed();
+            }
+            log.debug("📰 Public feed snapshot rebuilt with {} complaints", items.size());
+        } catch (RuntimeException e) {
+            // Readers keep the previous snapshot; the next change or refresh tries again
+            log.warn("⚠️ Public feed snapshot rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    // Index of the first complaint after the cursor, by binary search over the feed order
+    private static int startAfter(List<ComplaintResponseDTO> items, Cursor cursor) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cursor.isBefore(items.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isPublic(ComplaintSnapshot snapshot) {
+        return snapshot != null && snapshot.isPublic();
+    }
+}
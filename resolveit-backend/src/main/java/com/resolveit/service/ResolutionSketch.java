@@ -0,0 +1,75 @@
+package com.resolveit.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Log-bucketed histogram of resolution times in minutes (DDSketch-style).
+ *
+ * Bucket 0 holds values below one minute; bucket i >= 1 holds values in
+ * [GAMMA^(i-1), GAMMA^i). Any quantile read back is within about 5% of the
+ * true value, and two sketches merge by adding their bucket counts, which is
+ * what lets per-day rows be summed into any window in SQL or in memory.
+ */
+public class ResolutionSketch {
+
+    public static final double GAMMA = 1.1;
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> counts = new TreeMap<>();
+    private long total;
+
+    public static int bucketIndex(long minutes) {
+        if (minutes < 1) {
+            return 0;
+        }
+        return 1 + (int) Math.floor(Math.log(minutes) / LOG_GAMMA);
+    }
+
+    // Midpoint (relative to the bucket bounds) of a bucket, in minutes
+    public static double bucketValue(int index) {
+        if (index <= 0) {
+            return 0.0;
+        }
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    public void add(int bucketIndex, long count) {
+        if (count <= 0) {
+            return;
+        }
+        counts.merge(bucketIndex, count, Long::sum);
+        total += count;
+    }
+
+    public void merge(ResolutionSketch other) {
+        other.counts.forEach(this::add);
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    /**
+     * Value at quantile {@code q} (0..1) in minutes, or 0 for an empty sketch.
+     */
+    public double quantile(double q) {
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= rank) {
+                return bucketValue(entry.getKey());
+            }
+        }
+        return bucketValue(counts.lastKey());
+    }
+}
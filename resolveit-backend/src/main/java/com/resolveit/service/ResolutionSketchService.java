@@ -0,0 +1,234 @@
+package com.resolveit.service;
+
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.model.ResolutionSketchBucket.Dimension;
+import com.resolveit.repository.ResolutionSketchBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Resolution-time percentiles per category, per employee and overall.
+ *
+ * Each resolved complaint contributes one sample to the sketch of the day it
+ * was resolved on. Samples move with the complaint the same way the
+ * RESOLUTION_HOURS counter does: added when it becomes RESOLVED, removed if
+ * it is reopened or deleted. Dashboards merge the per-day rows for their
+ * window with a single GROUP BY and read p50/p90/p99 from the result.
+ *
+ * The rebuild recounts one resolution day per short transaction, the same way
+ * the rollup backfill does (see ComplaintRollupService): lock the day's
+ * buckets, read that day's resolved complaints without locking them, count
+ * them with the incremental code and replace the day's rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResolutionSketchService {
+
+    public static final String ALL = "ALL";
+
+    private static final String INCREMENT_SQL =
+            "INSERT INTO resolution_sketch_buckets (dimension, dim_key, bucket_day, bucket_index, sample_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE sample_count = sample_count + VALUES(sample_count), " +
+            "updated_at = VALUES(updated_at)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO resolution_sketch_buckets (dimension, dim_key, bucket_day, bucket_index, sample_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Uses idx_resolution_sketch_buckets_day, so only the day's rows and gaps are locked
+    private static final String LOCK_DAY_SQL =
+            "SELECT id FROM resolution_sketch_buckets WHERE bucket_day = ? FOR UPDATE";
+
+    private static final String DELETE_DAY_SQL =
+            "DELETE FROM resolution_sketch_buckets WHERE bucket_day = ?";
+
+    // Uses idx_complaints_status_updated_at
+    private static final String RESOLVED_ON_DAY_SQL =
+            "SELECT " + ComplaintSnapshot.COLUMNS + " FROM complaints " +
+            "WHERE status = 'RESOLVED' AND updated_at >= ? AND updated_at < ?";
+
+    private final ResolutionSketchBucketRepository sketchBucketRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${resolution.sketch.window-days:90}")
+    private int windowDays;
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Map<SketchKey, Long> deltas = new HashMap<>();
+        contribute(deltas, event.getBefore(), -1);
+        contribute(deltas, event.getAfter(), 1);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                batch.add(new Object[]{key.dimension().name(), key.dimKey(), Date.valueOf(key.day()),
+                        key.bucketIndex(), delta, now});
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+        }
+    }
+
+    /**
+     * p50/p90/p99 resolution time in hours over the configured window, keyed
+     * "p50", "p90", "p99". Empty when nothing was resolved in the window.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Double> getPercentiles(Dimension dimension, String dimKey) {
+        LocalDate today = LocalDate.now();
+        ResolutionSketch sketch = new ResolutionSketch();
+        for (Object[] row : sketchBucketRepository.mergeBuckets(
+                dimension, dimKey, today.minusDays(windowDays - 1L), today)) {
+            sketch.add(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+        }
+        return toPercentiles(sketch);
+    }
+
+    /**
+     * Same as {@link #getPercentiles} for every key of a dimension, e.g. per category.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Map<String, Double>> getPercentilesByKey(Dimension dimension) {
+        LocalDate today = LocalDate.now();
+        Map<String, ResolutionSketch> sketches = new TreeMap<>();
+        for (Object[] row : sketchBucketRepository.mergeBucketsByKey(
+                dimension, today.minusDays(windowDays - 1L), today)) {
+            sketches.computeIfAbsent((String) row[0], key -> new ResolutionSketch())
+                    .add(((Number) row[1]).intValue(), ((Number) row[2]).longValue());
+        }
+
+        Map<String, Map<String, Double>> result = new LinkedHashMap<>();
+        sketches.forEach((key, sketch) -> {
+            if (!sketch.isEmpty()) {
+                result.put(key, toPercentiles(sketch));
+            }
+        });
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeSketches() {
+        if (sketchBucketRepository.count() == 0) {
+            log.info("📊 Resolution sketches table is empty, running backfill");
+            rebuildSketches();
+        }
+    }
+
+    // Nightly rebuild, which also repairs any drift in the incremental counts
+    @Scheduled(cron = "${resolution.sketch.rebuild-cron:0 45 2 * * ?}")
+    public void rebuildSketchesNightly() {
+        // One instance per night; the lease outlives the run so the others skip it
+        if (!jobLeaseService.tryAcquire("resolution-sketch-rebuild", Duration.ofHours(1))) {
+            return;
+        }
+        log.info("🔄 Rebuilding resolution-time sketches");
+        rebuildSketches();
+    }
+
+    private void rebuildSketches() {
+        Timestamp first = jdbcTemplate.queryForObject(
+                "SELECT MIN(updated_at) FROM complaints WHERE status = 'RESOLVED'", Timestamp.class);
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = first != null ? first.toLocalDateTime().toLocalDate() : today;
+
+        // Rows older than any resolution can only be drift
+        jdbcTemplate.update("DELETE FROM resolution_sketch_buckets WHERE bucket_day < ?", Date.valueOf(firstDay));
+
+        int rows = 0;
+        for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            LocalDate current = day;
+            Integer dayRows = transactionTemplate.execute(status -> rebuildDay(current));
+            rows += dayRows != null ? dayRows : 0;
+        }
+
+        log.info("✅ Resolution sketches rebuilt ({} buckets)", rows);
+    }
+
+    // Runs in its own transaction; the lock must come before the complaints are read
+    private int rebuildDay(LocalDate day) {
+        jdbcTemplate.queryForList(LOCK_DAY_SQL, Long.class, Date.valueOf(day));
+
+        Map<SketchKey, Long> counts = new HashMap<>();
+        jdbcTemplate.query(RESOLVED_ON_DAY_SQL,
+                (RowCallbackHandler) rs -> contribute(counts, ComplaintSnapshot.fromRow(rs), 1),
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        counts.forEach((key, count) -> batch.add(new Object[]{key.dimension().name(), key.dimKey(),
+                Date.valueOf(key.day()), key.bucketIndex(), count, now}));
+
+        jdbcTemplate.update(DELETE_DAY_SQL, Date.valueOf(day));
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        return batch.size();
+    }
+
+    private Map<String, Double> toPercentiles(ResolutionSketch sketch) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        if (sketch.isEmpty()) {
+            return percentiles;
+        }
+        percentiles.put("p50", minutesToHours(sketch.quantile(0.50)));
+        percentiles.put("p90", minutesToHours(sketch.quantile(0.90)));
+        percentiles.put("p99", minutesToHours(sketch.quantile(0.99)));
+        return percentiles;
+    }
+
+    private double minutesToHours(double minutes) {
+        return Math.round(minutes / 60.0 * 10.0) / 10.0;
+    }
+
+    private void contribute(Map<SketchKey, Long> deltas, ComplaintSnapshot snapshot, int sign) {
+        if (snapshot == null || !snapshot.isResolved()
+                || snapshot.getCreatedAt() == null || snapshot.getUpdatedAt() == null) {
+            return;
+        }
+
+        LocalDate day = snapshot.getUpdatedAt().toLocalDate();
+        int bucketIndex = ResolutionSketch.bucketIndex(snapshot.getResolutionMinutes());
+
+        Set<SketchKey> keys = new HashSet<>();
+        keys.add(new SketchKey(Dimension.ALL, ALL, day, bucketIndex));
+        if (snapshot.getCategory() != null) {
+            keys.add(new SketchKey(Dimension.CATEGORY, snapshot.getCategory(), day, bucketIndex));
+        }
+        if (snapshot.getAssignedEmployeeId() != null) {
+            keys.add(new SketchKey(Dimension.EMPLOYEE, snapshot.getAssignedEmployeeId().toString(), day, bucketIndex));
+        }
+        if (snapshot.getEscalatedToId() != null) {
+            keys.add(new SketchKey(Dimension.EMPLOYEE, snapshot.getEscalatedToId().toString(), day, bucketIndex));
+        }
+
+        keys.forEach(key -> deltas.merge(key, (long) sign, Long::sum));
+    }
+
+    private record SketchKey(Dimension dimension, String dimKey, LocalDate day, int bucketIndex) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.resolveit.service;
+
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.repository.ComplaintRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory workload counters per complaint handler, so the load distribution
+ * never has to load complaints to count them. The auto-escalator reads loads
+ * from the database instead, since this index lags changes made on other nodes.
+ *
+ * Counters are keyed by user id rather than limited to seniors, which keeps
+ * them right when an employee is promoted; callers pick the seniors they need.
+ * They move with every committed {@link ComplaintChangedEvent} (the old
+ * snapshot is taken out, the new one added) and are replaced from one grouped
+ * query every workload.reconcile-ms. Each instance keeps its own index, so
+ * changes committed on another node show up at the next reconciliation.
+ *
+ * Reconciliation and event updates hold the same lock, which only keeps an
+ * event from being overwritten by a recount that started before it. A change
+ * that commits just before the recount query but whose event is applied after
+ * it is counted twice, and the drift stays until the next reconciliation.
+ * That is acceptable for a distribution view; anything that must be exact
+ * reads the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeniorWorkloadIndex {
+
+    public record Workload(long escalated, long resolvedEscalated, long assignedUnresolved) {
+
+        static final Workload EMPTY = new Workload(0, 0, 0);
+
+        // Same measure the escalator balances on
+        public long totalLoad() {
+            return escalated + assignedUnresolved;
+        }
+
+        public double resolutionRate() {
+            return escalated > 0 ? ((double) resolvedEscalated / escalated) * 100 : 0.0;
+        }
+
+        Workload plus(Workload other) {
+            return new Workload(escalated + other.escalated,
+                    resolvedEscalated + other.resolvedEscalated,
+                    assignedUnresolved + other.assignedUnresolved);
+        }
+    }
+
+    private final ComplaintRepository complaintRepository;
+
+    private final Map<Long, Workload> workloads = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public Workload get(Long userId) {
+        ensureLoaded();
+        return workloads.getOrDefault(userId, Workload.EMPTY);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onComplaintChanged(ComplaintChangedEvent event) {
+        if (!loaded) {
+            // The first reconciliation will include this change
+            return;
+        }
+        contribute(event.getBefore(), -1);
+        contribute(event.getAfter(), 1);
+    }
+
+    @Scheduled(fixedDelayString = "${workload.reconcile-ms:600000}",
+            initialDelayString = "${workload.reconcile-ms:600000}")
+    public synchronized void reconcile() {
+        Map<Long, Workload> fresh = new HashMap<>();
+        for (Object[] row : complaintRepository.getHandlerWorkloads()) {
+            fresh.put((Long) row[0], new Workload(
+                    toLong(row[1]), toLong(row[2]), toLong(row[3])));
+        }
+
+        int drifted = 0;
+        for (Map.Entry<Long, Workload> entry : fresh.entrySet()) {
+            Workload previous = workloads.put(entry.getKey(), entry.getValue());
+            if (loaded && !entry.getValue().equals(previous)) {
+                drifted++;
+            }
+        }
+        workloads.keySet().retainAll(fresh.keySet());
+
+        if (drifted > 0) {
+            log.warn("⚠️ Workload index corrected for {} handlers", drifted);
+        }
+        loaded = true;
+        log.debug("👥 Workload index reconciled for {} handlers", fresh.size());
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    private void contribute(ComplaintSnapshot snapshot, int sign) {
+        if (snapshot == null) {
+            return;
+        }
+        if (snapshot.getEscalatedToId() != null) {
+            workloads.merge(snapshot.getEscalatedToId(),
+                    new Workload(sign, snapshot.isResolved() ? sign : 0, 0), Workload::plus);
+        } else if (snapshot.getAssignedEmployeeId() != null && !snapshot.isResolved()) {
+            workloads.merge(snapshot.getAssignedEmployeeId(), new Workload(0, 0, sign), Workload::plus);
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
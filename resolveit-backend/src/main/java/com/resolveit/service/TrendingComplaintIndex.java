@@ -0,0 +1,245 @@
+package com.resolveit.service;
+
+import com.resolveit.dto.ComplaintResponseDTO;
+import com.resolveit.event.ComplaintActivityEvent;
+import com.resolveit.event.ComplaintChangedEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.repository.ComplaintRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ranks public complaints by a time-decayed engagement score, so the trending
+ * list is read off the top of a sorted set instead of counting likes.
+ *
+ * Every complaint earns trending.creation-weight when it is created, and
+ * trending.like-weight / trending.comment-weight per like and comment, each
+ * halving every trending.half-life-hours from the moment it happened. Decaying
+ * every score by the same factor never changes the order, so scores are kept
+ * undecayed relative to a fixed epoch (as logarithms, so they cannot
+ * overflow) and a like or comment only moves its own complaint: one remove and
+ * one insert in the skip list. Like and comment weight are kept apart from
+ * the creation score; an unlike takes off the average like's share of the
+ * like weight, so it never removes more than the likes added.
+ *
+ * Existing likes and comments are counted as of the complaint's creation time
+ * when the index is built. Every trending.reconcile-ms the index compares its
+ * counts with the complaint counter columns and applies the difference as of
+ * now, which picks up engagement recorded on other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingComplaintIndex {
+
+    /**
+     * {@code score} is the log of the undecayed score, the log-sum of the
+     * creation ({@code base}), like and comment contributions; the latter two
+     * are negative infinity while there is no engagement.
+     */
+    record Entry(Long id, double score, double base, double likeScore, double commentScore,
+                 long likes, long comments) {
+
+        static Entry of(Long id, double base, double likeScore, double commentScore, long likes, long comments) {
+            return new Entry(id, logAdd(logAdd(base, likeScore), commentScore), base,
+                    likeScore, commentScore, likes, comments);
+        }
+    }
+
+    private static final Comparator<Entry> BY_SCORE = Comparator.comparingDouble(Entry::score)
+            .thenComparing(Entry::id)
+            .reversed();
+
+    private final ComplaintRepository complaintRepository;
+    private final PublicFeedService publicFeedService;
+
+    @Value("${trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${trending.creation-weight:3}")
+    private double creationWeight;
+
+    @Value("${trending.like-weight:1}")
+    private double likeWeight;
+
+    @Value("${trending.comment-weight:2}")
+    private double commentWeight;
+
+    @Value("${trending.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${trending.max-limit:50}")
+    private int maxLimit;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(BY_SCORE);
+    private volatile boolean loaded;
+
+    public List<ComplaintResponseDTO> getTrending(Integer limit) {
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        return publicFeedService.loadInOrder(topIds(size));
+    }
+
+    public List<Long> topIds(int size) {
+        ensureLoaded();
+        // A complaint being re-ranked can be passed twice by the same iteration
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Entry entry : ranking) {
+            if (ids.size() == size) {
+                break;
+            }
+            ids.add(entry.id());
+        }
+        return new ArrayList<>(ids);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        if (!loaded) {
+            // The first reconciliation will include this change
+            return;
+        }
+        ComplaintSnapshot after = event.getAfter();
+        if (after == null) {
+            remove(event.getBefore().getId());
+        } else if (!after.isPublic()) {
+            remove(after.getId());
+        } else if (!entries.containsKey(after.getId())) {
+            // Likes and comments on a complaint made public later arrive with the next reconciliation
+            add(after.getId(), after.getCreatedAt(), 0, 0);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintActivity(ComplaintActivityEvent event) {
+        if (!loaded) {
+            return;
+        }
+        switch (event.getType()) {
+            case LIKE_ADDED -> engage(event.getComplaintId(), event.getCount(), 0);
+            case LIKE_REMOVED -> engage(event.getComplaintId(), -event.getCount(), 0);
+            case COMMENT_ADDED -> engage(event.getComplaintId(), 0, event.getCount());
+            default -> {
+                // Attachments do not count towards trending
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trending.reconcile-ms:300000}",
+            initialDelayString = "${trending.reconcile-ms:300000}")
+    // Synchronized so two reconciliations never apply the same difference twice
+    public synchronized void reconcile() {
+        Set<Long> seen = new HashSet<>();
+        int drifted = 0;
+        for (Object[] row : complaintRepository.getPublicEngagement()) {
+            Long id = (Long) row[0];
+            long likes = toLong(row[2]);
+            long comments = toLong(row[3]);
+            seen.add(id);
+
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                add(id, (LocalDateTime) row[1], likes, comments);
+            } else if (entry.likes() != likes || entry.comments() != comments) {
+                engage(id, likes - entry.likes(), comments - entry.comments());
+                drifted++;
+            }
+        }
+        for (Long id : new ArrayList<>(entries.keySet())) {
+            if (!seen.contains(id)) {
+                remove(id);
+            }
+        }
+
+        if (loaded && drifted > 0) {
+            log.debug("🔥 Trending index picked up engagement on {} complaints", drifted);
+        }
+        loaded = true;
+        log.debug("🔥 Trending index reconciled for {} complaints", seen.size());
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    // Existing engagement counts as of creation, so a restart does not make old complaints trend
+    private void add(Long id, LocalDateTime createdAt, long likes, long comments) {
+        Entry entry = Entry.of(id, weightAt(creationWeight, createdAt),
+                likes > 0 ? weightAt(likeWeight * likes, createdAt) : Double.NEGATIVE_INFINITY,
+                comments > 0 ? weightAt(commentWeight * comments, createdAt) : Double.NEGATIVE_INFINITY,
+                likes, comments);
+        entries.compute(id, (key, previous) -> replace(previous, entry));
+    }
+
+    private void engage(Long id, long likes, long comments) {
+        LocalDateTime now = LocalDateTime.now();
+        entries.computeIfPresent(id, (key, previous) -> replace(previous, Entry.of(id, previous.base(),
+                adjust(previous.likeScore(), previous.likes(), likeWeight, likes, now),
+                adjust(previous.commentScore(), previous.comments(), commentWeight, comments, now),
+                Math.max(0, previous.likes() + likes), Math.max(0, previous.comments() + comments))));
+    }
+
+    private void remove(Long id) {
+        entries.computeIfPresent(id, (key, previous) -> replace(previous, null));
+    }
+
+    // Runs inside the map's per-key lock, so the set always holds exactly one entry per complaint
+    private Entry replace(Entry previous, Entry next) {
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        if (next != null) {
+            ranking.add(next);
+        }
+        return next;
+    }
+
+    // Log weight of `counted` engagements after `count` more worth `weight` each as of `at`; removing
+    // takes the same share of the weight as of the engagements counted, never more
+    private double adjust(double score, long counted, double weight, long count, LocalDateTime at) {
+        if (count > 0) {
+            return logAdd(score, weightAt(weight * count, at));
+        }
+        if (count == 0 || counted <= 0) {
+            return score;
+        }
+        long left = counted + count;
+        return left <= 0 ? Double.NEGATIVE_INFINITY : score + Math.log((double) left / counted);
+    }
+
+    // log(weight) plus the growth since the epoch that stands in for decay of everything older
+    private double weightAt(double weight, LocalDateTime at) {
+        LocalDateTime time = at != null ? at : LocalDateTime.now();
+        double hours = time.atZone(ZoneId.systemDefault()).toEpochSecond() / 3600.0;
+        return Math.log(weight) + hours * Math.log(2) / halfLifeHours;
+    }
+
+    private static double logAdd(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY || b == Double.NEGATIVE_INFINITY) {
+            return Math.max(a, b);
+        }
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,349 @@
+package com.resolveit.benchmark;
+
+import com.resolveit.model.ComplaintState;
+import com.resolveit.model.Urgency;
+import com.resolveit.model.User;
+import com.resolveit.repository.ComplaintRepository;
+import com.resolveit.service.ComplaintRollupService;
+import com.resolveit.service.ComplaintStatsService;
+import com.resolveit.service.EscalationService;
+import com.resolveit.service.JobLeaseService;
+import com.resolveit.service.ResolutionSketchService;
+import com.resolveit.service.SeniorWorkloadIndex;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-alone auto-escalation benchmark on synthetic backlogs.
+ *
+ * Each scenario starts a Spring context on a fresh in-memory H2 database in
+ * MySQL mode with the application's own entities, repositories, transaction
+ * manager and Hibernate settings, plus the services that listen to complaint
+ * changes during the flush (stats, rollups, resolution sketches) and the
+ * workload index. It inserts seniors with an existing load drawn from a
+ * distribution and a backlog of overdue complaints, then runs one escalation
+ * pass through EscalationService:
+ *
+ *   empty     every senior starts with no load
+ *   uniform   existing loads spread evenly between 0 and twice the mean
+ *   skewed    a few seniors carry most of the existing load (Zipf-like)
+ *
+ * Prints wall time, JDBC statements executed (a batch counts once), commits,
+ * complaints escalated, and the final total load per senior as min / max /
+ * standard deviation, read back from the database. With a file argument every
+ * decision is also written as CSV (complaint, due date, senior, senior load
+ * after the assignment) in escalation order. H2 has no network round trip and
+ * emulates ON DUPLICATE KEY UPDATE with a failed insert, so the statement
+ * count is the figure to compare with MySQL, not the time.
+ *
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.resolveit.benchmark.EscalationBenchmark \
+ *        [complaints,...] [seniors,...] [distribution,...] [batch-size] [decisions.csv]
+ *
+ * (after mvn test-compile; cp.txt from: mvn dependency:build-classpath -Dmdep.outputFile=cp.txt)
+ */
+public class EscalationBenchmark {
+
+    private static final int[] DEFAULT_COMPLAINTS = {10_000, 100_000};
+    private static final int[] DEFAULT_SENIORS = {20, 200};
+    private static final int MEAN_EXISTING_LOAD = 20;
+    private static final int THRESHOLD_MINUTES = 7;
+    private static final int SEED_BATCH = 1000;
+    private static final long SEED = 42L;
+
+    private static final String INSERT_SENIOR_SQL =
+            "INSERT INTO users (email, full_name, password, role, active, created_at) VALUES (?, ?, ?, ?, TRUE, ?)";
+
+    private static final String INSERT_COMPLAINT_SQL =
+            "INSERT INTO complaints (title, category, description, status, urgency, anonymous, is_public, " +
+            "requires_escalation, days_open, days_since_assignment, attachment_count, like_count, comment_count, " +
+            "assigned_employee_id, escalated_to_id, escalation_date, escalation_due_at, " +
+            "created_at, updated_at, last_status_change_date) " +
+            "VALUES (?, 'General', 'Synthetic complaint', ?, ?, FALSE, TRUE, FALSE, 0, 0, 0, 0, 0, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DECISIONS_SQL =
+            "SELECT id, created_at, escalated_to_id FROM complaints WHERE escalation_date >= ? " +
+            "ORDER BY escalation_date, created_at, id";
+
+    private static int scenario;
+
+    /**
+     * The application slice the benchmark runs; scheduling is left off, so
+     * only the escalation pass itself touches the database.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("com.resolveit.model")
+    @EnableJpaRepositories("com.resolveit.repository")
+    @Import({EscalationService.class, SeniorWorkloadIndex.class, JobLeaseService.class,
+            ComplaintStatsService.class, ComplaintRollupService.class, ResolutionSketchService.class})
+    static class Slice {
+
+        @Bean
+        CountingDataSource dataSource(DataSourceProperties properties) {
+            return new CountingDataSource(properties.initializeDataSourceBuilder().type(HikariDataSource.class).build());
+        }
+    }
+
+    /**
+     * Counts the statements and commits that reach the database, whichever of
+     * Hibernate or JdbcTemplate issued them.
+     */
+    static class CountingDataSource extends DelegatingDataSource {
+
+        final AtomicLong statements = new AtomicLong();
+        final AtomicLong commits = new AtomicLong();
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return (Connection) counting(Connection.class, super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return (Connection) counting(Connection.class, super.getConnection(username, password));
+        }
+
+        void reset() {
+            statements.set(0);
+            commits.set(0);
+        }
+
+        private Object counting(Class<?> type, Object target) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("execute")) {
+                    statements.incrementAndGet();
+                } else if (name.equals("commit")) {
+                    commits.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                // Statement, PreparedStatement and CallableStatement are all counted through their interface
+                if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return counting(method.getReturnType(), result);
+                }
+                return result;
+            });
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] complaintCounts = args.length > 0 ? parseCounts(args[0]) : DEFAULT_COMPLAINTS;
+        int[] seniorCounts = args.length > 1 ? parseCounts(args[1]) : DEFAULT_SENIORS;
+        List<String> distributions = args.length > 2 ? List.of(args[2].split(",")) : List.of("uniform", "skewed");
+        int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+        Path decisionsFile = args.length > 4 ? Path.of(args[4]) : null;
+
+        System.out.printf("%-10s %-8s %-8s %10s %10s %8s %10s %6s %6s %8s%n", "overdue", "seniors", "dist",
+                "time (ms)", "statements", "commits", "escalated", "min", "max", "stddev");
+        for (int complaints : complaintCounts) {
+            for (int seniors : seniorCounts) {
+                for (String distribution : distributions) {
+                    try (ConfigurableApplicationContext context = start(batchSize)) {
+                        simulate(context, complaints, seniors, distribution, decisionsFile);
+                    }
+                }
+            }
+        }
+    }
+
+    // Command-line properties override application.properties, so only the database and logging change
+    private static ConfigurableApplicationContext start(int batchSize) {
+        scenario++;
+        return new SpringApplicationBuilder(Slice.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.main.banner-mode=off",
+                        "--spring.datasource.url=jdbc:h2:mem:escalation" + scenario
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.file.name=",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.resolveit=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.orm.deprecation=ERROR",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        // The heartbeat's lease SQL is MySQL-only; it fails once at startup, quietly
+                        "--logging.level.com.resolveit.service.JobLeaseService=ERROR",
+                        "--cluster.heartbeat-ms=3600000",
+                        "--escalation.threshold.minutes=" + THRESHOLD_MINUTES,
+                        "--escalation.batch-size=" + batchSize);
+    }
+
+    private static void simulate(ConfigurableApplicationContext context, int overdue, int seniorCount,
+                                 String distribution, Path decisionsFile) throws IOException {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        CountingDataSource dataSource = context.getBean(CountingDataSource.class);
+        EscalationService escalationService = context.getBean(EscalationService.class);
+        ComplaintRepository complaintRepository = context.getBean(ComplaintRepository.class);
+
+        Map<Long, Long> initialLoads = transactionTemplate.execute(status ->
+                seed(jdbcTemplate, seniorCount, overdue, distribution));
+
+        dataSource.reset();
+        LocalDateTime runStart = LocalDateTime.now();
+        long start = System.nanoTime();
+        int escalated = escalationService.escalateDueComplaints(null, null);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long statements = dataSource.statements.get();
+        long commits = dataSource.commits.get();
+
+        Map<Long, Long> loads = new HashMap<>();
+        initialLoads.keySet().forEach(id -> loads.put(id, 0L));
+        for (Object[] row : complaintRepository.getHandlerWorkloads()) {
+            if (loads.containsKey((Long) row[0])) {
+                loads.put((Long) row[0], toLong(row[1]) + toLong(row[3]));
+            }
+        }
+        LongSummaryStatistics stats = loads.values().stream().mapToLong(Long::longValue).summaryStatistics();
+        double variance = loads.values().stream()
+                .mapToDouble(l -> Math.pow(l - stats.getAverage(), 2)).average().orElse(0);
+
+        System.out.printf("%-10d %-8d %-8s %10d %10d %8d %10d %6d %6d %8.2f%n", overdue, seniorCount, distribution,
+                elapsedMs, statements, commits, escalated, stats.getMin(), stats.getMax(), Math.sqrt(variance));
+
+        if (decisionsFile != null) {
+            writeDecisions(decisionsFile, overdue, seniorCount, distribution, jdbcTemplate, runStart, initialLoads);
+        }
+    }
+
+    /**
+     * Inserts the seniors with their existing escalations, and the overdue
+     * backlog, with plain JDBC so the setup publishes no complaint events.
+     * Returns the existing load per senior id.
+     */
+    private static Map<Long, Long> seed(JdbcTemplate jdbcTemplate, int seniorCount, int overdue,
+                                        String distribution) {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp seededAt = Timestamp.valueOf(now.minusDays(2));
+
+        List<Object[]> seniors = new ArrayList<>();
+        for (int i = 1; i <= seniorCount; i++) {
+            seniors.add(new Object[]{"senior" + i + "@example.com", "Senior " + i, "{noop}benchmark",
+                    User.Role.SENIOR_EMPLOYEE.name(), seededAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SENIOR_SQL, seniors);
+        List<Long> seniorIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE role = ? ORDER BY id", Long.class, User.Role.SENIOR_EMPLOYEE.name());
+
+        double harmonic = 0;
+        for (int i = 1; i <= seniorCount; i++) {
+            harmonic += 1.0 / i;
+        }
+
+        Map<Long, Long> initialLoads = new LinkedHashMap<>();
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < seniorIds.size(); i++) {
+            Long seniorId = seniorIds.get(i);
+            long existing = switch (distribution) {
+                case "empty" -> 0;
+                case "uniform" -> random.nextInt(2 * MEAN_EXISTING_LOAD + 1);
+                case "skewed" -> Math.round((double) MEAN_EXISTING_LOAD * seniorCount / (harmonic * (i + 1)));
+                default -> throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            };
+            initialLoads.put(seniorId, existing);
+            for (long n = 0; n < existing; n++) {
+                batch.add(new Object[]{"Existing complaint", ComplaintState.UNDER_REVIEW.name(), Urgency.MEDIUM.name(),
+                        seniorId, seniorId, seededAt, null, seededAt, seededAt, seededAt});
+                flushIfFull(jdbcTemplate, batch);
+            }
+        }
+
+        for (int i = 0; i < overdue; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(THRESHOLD_MINUTES + 1 + random.nextInt(7 * 24 * 60)));
+            Timestamp dueAt = Timestamp.valueOf(createdAt.toLocalDateTime().plusMinutes(THRESHOLD_MINUTES));
+            batch.add(new Object[]{"Overdue complaint", ComplaintState.NEW.name(), Urgency.MEDIUM.name(),
+                    null, null, null, dueAt, createdAt, createdAt, createdAt});
+            flushIfFull(jdbcTemplate, batch);
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_COMPLAINT_SQL, batch);
+        }
+        return initialLoads;
+    }
+
+    private static void flushIfFull(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (batch.size() == SEED_BATCH) {
+            jdbcTemplate.batchUpdate(INSERT_COMPLAINT_SQL, batch);
+            batch.clear();
+        }
+    }
+
+    // Escalation clears escalation_due_at, so the due date is derived from created_at as it was seeded
+    private static void writeDecisions(Path file, int overdue, int seniors, String distribution,
+                                       JdbcTemplate jdbcTemplate, LocalDateTime runStart,
+                                       Map<Long, Long> initialLoads) throws IOException {
+        boolean header = !Files.exists(file);
+        Map<Long, Long> loads = new HashMap<>(initialLoads);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (header) {
+                out.println("overdue,seniors,distribution,complaint_id,due_at,senior_id,senior_load");
+            }
+            jdbcTemplate.query(DECISIONS_SQL, rs -> {
+                long seniorId = rs.getLong("escalated_to_id");
+                long load = loads.merge(seniorId, 1L, Long::sum);
+                out.printf("%d,%d,%s,%d,%s,%d,%d%n", overdue, seniors, distribution, rs.getLong("id"),
+                        rs.getTimestamp("created_at").toLocalDateTime().plusMinutes(THRESHOLD_MINUTES),
+                        seniorId, load);
+            }, Timestamp.valueOf(runStart));
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static int[] parseCounts(String arg) {
+        String[] parts = arg.split(",");
+        int[] counts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            counts[i] = Integer.parseInt(parts[i].trim().replace("_", ""));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,276 @@
+package com.resolveit.benchmark;
+
+import com.resolveit.model.Complaint;
+import com.resolveit.model.ComplaintState;
+import com.resolveit.model.Urgency;
+import com.resolveit.model.User;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.resolveit.service.ComplaintExcelWriter;
+import com.resolveit.service.ComplaintPdfWriter;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-alone export benchmark on synthetic complaints (no database needed).
+ *
+ * Compares the old in-memory exports with the streaming writers fed from a
+ * lazy iterator, the way the chunked database reads feed them:
+ *
+ *   xssf        XSSFWorkbook + autoSizeColumn over a fully materialized list
+ *   sxssf       ComplaintExcelWriter
+ *   pdf         one PdfPTable holding every row, added to the document at the end
+ *   pdf-stream  ComplaintPdfWriter (incomplete table flushed in chunks)
+ *
+ * Prints wall time, peak heap above the starting baseline and output size per
+ * row count.
+ *
+ *   java -Xmx1g -cp target/test-classes:target/classes:$(cat cp.txt) com.resolveit.benchmark.ExportBenchmark [rows,...] [engine,...]
+ *
+ * (after mvn test-compile; cp.txt from: mvn dependency:build-classpath -Dmdep.outputFile=cp.txt)
+ */
+public class ExportBenchmark {
+
+    private static final int[] DEFAULT_ROWS = {10_000, 100_000, 1_000_000};
+
+    private static final User REQUESTER = user(3L, "Sample Admin", "admin@example.com");
+
+    static {
+        REQUESTER.setRole(User.Role.ADMIN);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] rowCounts = args.length > 0 ? parseRows(args[0]) : DEFAULT_ROWS;
+        List<String> engines = args.length > 1 ? List.of(args[1].split(",")) : List.of("xssf", "sxssf");
+
+        System.out.printf("%-10s %-12s %12s %14s %14s%n", "rows", "engine", "time (ms)", "peak heap (MB)", "output (KB)");
+        for (int rows : rowCounts) {
+            if (engines.contains("xssf")) {
+                report(rows, "xssf", out -> writeLegacy(materialize(rows), out));
+            }
+            if (engines.contains("sxssf")) {
+                report(rows, "sxssf", out -> ComplaintExcelWriter.write(() -> generate(rows), out));
+            }
+            if (engines.contains("pdf")) {
+                report(rows, "pdf", out -> writeLegacyPdf(materialize(rows), out));
+            }
+            if (engines.contains("pdf-stream")) {
+                report(rows, "pdf-stream", out -> ComplaintPdfWriter.write(() -> generate(rows), REQUESTER, Map.of(), out));
+            }
+        }
+    }
+
+    interface Export {
+        void run(OutputStream out) throws IOException;
+    }
+
+    private static void report(int rows, String engine, Export export) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+
+        // Sample heap use while the export runs
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        CountingOutputStream counter = new CountingOutputStream(NullOutputStream.INSTANCE);
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            export.run(counter);
+            outcome = null;
+        } catch (OutOfMemoryError e) {
+            outcome = "out of memory";
+        } catch (IOException e) {
+            outcome = e.getMessage();
+        } finally {
+            running.set(false);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        if (outcome != null) {
+            System.out.printf("%-10d %-12s %12d %14s %14s%n", rows, engine, elapsedMs, "-", outcome);
+        } else {
+            System.out.printf("%-10d %-12s %12d %14d %14d%n", rows, engine, elapsedMs,
+                    (peak.get() - baseline) / (1024 * 1024), counter.getByteCount() / 1024);
+        }
+    }
+
+    // The pre-streaming implementation, kept here as the baseline
+    private static void writeLegacy(List<Complaint> complaints, OutputStream out) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Complaints");
+            String[] headers = {"ID", "Title", "Category", "Description", "Status",
+                    "Urgency", "Anonymous", "Created At", "Updated At",
+                    "User Name", "User Email", "Assigned Employee",
+                    "Escalated To", "Escalation Reason"};
+
+            org.apache.poi.ss.usermodel.Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                headerRow.createCell(i).setCellValue(headers[i]);
+            }
+
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+            int rowNum = 1;
+            for (Complaint complaint : complaints) {
+                org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(complaint.getId());
+                row.createCell(1).setCellValue(complaint.getTitle());
+                row.createCell(2).setCellValue(complaint.getCategory());
+                row.createCell(3).setCellValue(complaint.getDescription());
+                row.createCell(4).setCellValue(complaint.getStatus().name());
+                row.createCell(5).setCellValue(complaint.getUrgency().name());
+                row.createCell(6).setCellValue(complaint.getAnonymous() ? "Yes" : "No");
+                row.createCell(7).setCellValue(complaint.getCreatedAt().format(formatter));
+                row.createCell(8).setCellValue(complaint.getUpdatedAt().format(formatter));
+                row.createCell(9).setCellValue(complaint.getUser().getFullName());
+                row.createCell(10).setCellValue(complaint.getUser().getEmail());
+                row.createCell(11).setCellValue(complaint.getAssignedEmployee().getFullName());
+                row.createCell(12).setCellValue("");
+                row.createCell(13).setCellValue("");
+            }
+
+            for (int i = 0; i < headers.length; i++) {
+                sheet.autoSizeColumn(i);
+            }
+
+            workbook.write(out);
+        }
+    }
+
+    // The pre-streaming PDF report, kept here as the baseline
+    private static void writeLegacyPdf(List<Complaint> complaints, OutputStream out) throws IOException {
+        com.lowagie.text.Document document = new com.lowagie.text.Document(PageSize.A4.rotate());
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            PdfPTable table = new PdfPTable(10);
+            table.setWidthPercentage(100);
+            String[] headers = {"ID", "Title", "Category", "Status", "Urgency",
+                    "Created", "Days Open", "User", "Employee", "Escalated"};
+            for (String header : headers) {
+                PdfPCell cell = new PdfPCell(new Phrase(header, FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9)));
+                cell.setPadding(5);
+                table.addCell(cell);
+            }
+
+            com.lowagie.text.Font dataFont = FontFactory.getFont(FontFactory.HELVETICA, 8);
+            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+            for (Complaint complaint : complaints) {
+                addLegacyCell(table, String.valueOf(complaint.getId()), dataFont);
+                addLegacyCell(table, complaint.getTitle(), dataFont);
+                addLegacyCell(table, complaint.getCategory(), dataFont);
+                addLegacyCell(table, complaint.getStatus().name(), dataFont);
+                addLegacyCell(table, complaint.getUrgency().name(), dataFont);
+                addLegacyCell(table, complaint.getCreatedAt().format(dateFormatter), dataFont);
+                addLegacyCell(table, String.valueOf(java.time.Duration.between(
+                        complaint.getCreatedAt(), LocalDateTime.now()).toDays()), dataFont);
+                addLegacyCell(table, complaint.getUser().getFullName(), dataFont);
+                addLegacyCell(table, complaint.getAssignedEmployee().getFullName(), dataFont);
+                addLegacyCell(table, "No", dataFont);
+            }
+
+            document.add(table);
+            document.close();
+        } catch (DocumentException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void addLegacyCell(PdfPTable table, String text, com.lowagie.text.Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setPadding(5);
+        table.addCell(cell);
+    }
+
+    private static List<Complaint> materialize(int rows) {
+        List<Complaint> complaints = new ArrayList<>(rows);
+        generate(rows).forEachRemaining(complaints::add);
+        return complaints;
+    }
+
+    private static Iterator<Complaint> generate(int rows) {
+        User submitter = user(1L, "Sample Citizen", "citizen@example.com");
+        User employee = user(2L, "Sample Employee", "employee@example.com");
+        String[] categories = {"Water", "Electricity", "Roads", "Sanitation", "Other"};
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < rows;
+            }
+
+            @Override
+            public Complaint next() {
+                int i = next++;
+                Complaint complaint = new Complaint();
+                complaint.setId((long) i + 1);
+                complaint.setTitle("Complaint number " + i);
+                complaint.setCategory(categories[i % categories.length]);
+                complaint.setDescription("Synthetic description for complaint " + i
+                        + " with enough text to resemble a real submission.");
+                complaint.setStatus(ComplaintState.values()[i % ComplaintState.values().length]);
+                complaint.setUrgency(Urgency.values()[i % Urgency.values().length]);
+                complaint.setAnonymous(false);
+                complaint.setCreatedAt(base.plusMinutes(i));
+                complaint.setUpdatedAt(base.plusMinutes(i + 90L));
+                complaint.setUser(submitter);
+                complaint.setAssignedEmployee(employee);
+                return complaint;
+            }
+        };
+    }
+
+    private static User user(Long id, String fullName, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setFullName(fullName);
+        user.setEmail(email);
+        return user;
+    }
+
+    private static int[] parseRows(String arg) {
+        String[] parts = arg.split(",");
+        int[] rows = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            rows[i] = Integer.parseInt(parts[i].trim().replace("_", ""));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,37 @@
+package com.resolveit.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportControllerTest {
+
+    @Test
+    void gzipIsAcceptedWhenListed() {
+        assertTrue(ExportController.acceptsGzip("gzip"));
+        assertTrue(ExportController.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ExportController.acceptsGzip("br,  GZIP"));
+        assertTrue(ExportController.acceptsGzip("deflate;q=1.0, gzip;q=0.5"));
+    }
+
+    @Test
+    void gzipIsRefusedWhenMissingOrAtQualityZero() {
+        assertFalse(ExportController.acceptsGzip(null));
+        assertFalse(ExportController.acceptsGzip(""));
+        assertFalse(ExportController.acceptsGzip("deflate, br"));
+        assertFalse(ExportController.acceptsGzip("identity"));
+        assertFalse(ExportController.acceptsGzip("gzip;q=0"));
+        assertFalse(ExportController.acceptsGzip("gzip; q=0.000, deflate"));
+    }
+
+    @Test
+    void onlyTheExactCodingNameCounts() {
+        assertFalse(ExportController.acceptsGzip("x-gzip-custom"));
+        assertFalse(ExportController.acceptsGzip("notgzip"));
+    }
+
+    @Test
+    void malformedQualityIsRefused() {
+        assertFalse(ExportController.acceptsGzip("gzip;q=high"));
+    }
+}
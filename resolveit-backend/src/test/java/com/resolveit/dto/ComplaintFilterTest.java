@@ -0,0 +1,69 @@
+package com.resolveit.dto;
+
+import com.resolveit.model.ComplaintState;
+import com.resolveit.model.Urgency;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComplaintFilterTest {
+
+    @Test
+    void missingAndBlankValuesMeanNoFilter() {
+        ComplaintFilter filter = ComplaintFilter.from(Map.of("status", " ", "category", ""));
+        assertNull(filter.getStatus());
+        assertNull(filter.getCategory());
+        assertTrue(filter.isEmpty());
+        assertEquals(ComplaintFilter.from(null).fingerprint(), filter.fingerprint());
+    }
+
+    @Test
+    void fingerprintIgnoresCategoryCaseAndSurroundingSpace() {
+        String plain = ComplaintFilter.from(Map.of("category", "Roads")).fingerprint();
+        assertEquals(plain, ComplaintFilter.from(Map.of("category", " ROADS ")).fingerprint());
+        assertNotEquals(plain, ComplaintFilter.from(Map.of("category", "Water")).fingerprint());
+    }
+
+    @Test
+    void fingerprintIgnoresParameterOrderAndUnknownKeys() {
+        Map<String, String> first = new HashMap<>();
+        first.put("status", "NEW");
+        first.put("urgency", "HIGH");
+        Map<String, String> second = new HashMap<>();
+        second.put("urgency", "HIGH");
+        second.put("page", "3");
+        second.put("status", "NEW");
+        assertEquals(ComplaintFilter.from(first).fingerprint(), ComplaintFilter.from(second).fingerprint());
+    }
+
+    @Test
+    void fingerprintTellsFieldsApart() {
+        // The same text in different fields must not collide
+        String asCategory = ComplaintFilter.from(Map.of("category", "NEW")).fingerprint();
+        String asStatus = ComplaintFilter.from(Map.of("status", "NEW")).fingerprint();
+        assertNotEquals(asCategory, asStatus);
+
+        String start = ComplaintFilter.from(Map.of("startDate", "2024-01-01")).fingerprint();
+        String end = ComplaintFilter.from(Map.of("endDate", "2024-01-01")).fingerprint();
+        assertNotEquals(start, end);
+    }
+
+    @Test
+    void datesCoverWholeDays() {
+        ComplaintFilter filter = ComplaintFilter.from(Map.of("startDate", "2024-03-01", "endDate", "2024-03-31",
+                "status", "RESOLVED", "urgency", "NORMAL"));
+        assertEquals("2024-03-01T00:00", filter.getStartDate().toString());
+        assertEquals("2024-03-31T23:59:59", filter.getEndDate().toString());
+        assertEquals(ComplaintState.RESOLVED, filter.getStatus());
+        assertEquals(Urgency.NORMAL, filter.getUrgency());
+    }
+
+    @Test
+    void invalidValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ComplaintFilter.from(Map.of("status", "OPEN")));
+        assertThrows(IllegalArgumentException.class, () -> ComplaintFilter.from(Map.of("startDate", "yesterday")));
+    }
+}
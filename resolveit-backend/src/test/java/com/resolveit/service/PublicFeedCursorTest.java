@@ -0,0 +1,57 @@
+package com.resolveit.service;
+
+import com.resolveit.dto.ComplaintResponseDTO;
+import com.resolveit.service.PublicFeedService.Cursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicFeedCursorTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2024, 5, 17, 9, 30, 15, 123_456_000), 4821L);
+        assertEquals(cursor, Cursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void roundTripKeepsWholeSecondsAndMidnight() {
+        // LocalDateTime.toString drops zero seconds, which parse has to accept back
+        Cursor midnight = new Cursor(LocalDateTime.of(2024, 1, 1, 0, 0), 1L);
+        assertEquals(midnight, Cursor.decode(midnight.encode()));
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new Cursor(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999), Long.MAX_VALUE).encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(""));
+    }
+
+    @Test
+    void isBeforeFollowsFeedOrder() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 17, 9, 30);
+        Cursor cursor = new Cursor(time, 10L);
+
+        assertTrue(cursor.isBefore(dto(time.minusSeconds(1), 99L)));
+        assertTrue(cursor.isBefore(dto(time, 9L)));
+        assertFalse(cursor.isBefore(dto(time, 10L)));
+        assertFalse(cursor.isBefore(dto(time, 11L)));
+        assertFalse(cursor.isBefore(dto(time.plusSeconds(1), 1L)));
+    }
+
+    private static ComplaintResponseDTO dto(LocalDateTime createdAt, Long id) {
+        ComplaintResponseDTO dto = new ComplaintResponseDTO();
+        dto.setCreatedAt(createdAt);
+        dto.setId(id);
+        return dto;
+    }
+}
@@ -0,0 +1,92 @@
+package com.resolveit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResolutionSketchTest {
+
+    // Worst case for a value reported as its bucket midpoint
+    private static final double MAX_RELATIVE_ERROR = (ResolutionSketch.GAMMA - 1) / (ResolutionSketch.GAMMA + 1);
+
+    @Test
+    void valuesBelowOneMinuteGoToBucketZero() {
+        assertEquals(0, ResolutionSketch.bucketIndex(0));
+        assertEquals(0, ResolutionSketch.bucketIndex(-5));
+        assertEquals(0.0, ResolutionSketch.bucketValue(0));
+    }
+
+    @Test
+    void bucketsCoverHalfOpenPowersOfGamma() {
+        for (int index = 1; index < 200; index++) {
+            double lower = Math.pow(ResolutionSketch.GAMMA, index - 1);
+            double upper = Math.pow(ResolutionSketch.GAMMA, index);
+            long firstWhole = (long) Math.ceil(lower);
+            if (firstWhole < upper) {
+                assertEquals(index, ResolutionSketch.bucketIndex(firstWhole), "minutes=" + firstWhole);
+            }
+        }
+        assertEquals(1, ResolutionSketch.bucketIndex(1));
+    }
+
+    @Test
+    void bucketValueIsWithinErrorBoundOfEveryValueInTheBucket() {
+        for (long minutes = 1; minutes < 100_000; minutes += 7) {
+            double reported = ResolutionSketch.bucketValue(ResolutionSketch.bucketIndex(minutes));
+            assertTrue(Math.abs(reported - minutes) / minutes <= MAX_RELATIVE_ERROR + 1e-9,
+                    "minutes=" + minutes + " reported=" + reported);
+        }
+    }
+
+    @Test
+    void quantilesStayWithinErrorBoundOfExactQuantiles() {
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        ResolutionSketch sketch = new ResolutionSketch();
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal-ish spread from minutes to weeks
+            values[i] = 1 + (long) Math.exp(random.nextGaussian() * 2 + 6);
+            sketch.add(ResolutionSketch.bucketIndex(values[i]), 1);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            long exact = values[(int) Math.ceil(q * values.length) - 1];
+            double estimate = sketch.quantile(q);
+            assertTrue(Math.abs(estimate - exact) / exact <= MAX_RELATIVE_ERROR + 1e-9,
+                    "q=" + q + " exact=" + exact + " estimate=" + estimate);
+        }
+    }
+
+    @Test
+    void mergingSketchesMatchesAddingAllSamplesToOne() {
+        ResolutionSketch first = new ResolutionSketch();
+        ResolutionSketch second = new ResolutionSketch();
+        ResolutionSketch combined = new ResolutionSketch();
+        for (long minutes = 1; minutes <= 500; minutes++) {
+            int bucket = ResolutionSketch.bucketIndex(minutes * minutes);
+            (minutes % 3 == 0 ? first : second).add(bucket, 1);
+            combined.add(bucket, 1);
+        }
+
+        first.merge(second);
+
+        assertEquals(combined.getCount(), first.getCount());
+        for (double q = 0.05; q < 1; q += 0.05) {
+            assertEquals(combined.quantile(q), first.quantile(q));
+        }
+    }
+
+    @Test
+    void emptySketchReportsZeroAndIgnoresNonPositiveCounts() {
+        ResolutionSketch sketch = new ResolutionSketch();
+        sketch.add(5, 0);
+        sketch.add(5, -3);
+
+        assertTrue(sketch.isEmpty());
+        assertEquals(0.0, sketch.quantile(0.5));
+    }
+}
@@ -0,0 +1,108 @@
+package com.resolveit.service;
+
+import com.resolveit.event.ComplaintActivityEvent;
+import com.resolveit.event.ComplaintSnapshot;
+import com.resolveit.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrendingComplaintIndexTest {
+
+    // Two half-lives ago, so a like now is worth four likes from back then
+    private static final LocalDateTime CREATED = LocalDateTime.now().minusHours(48);
+
+    private final ComplaintRepository complaintRepository = mock(ComplaintRepository.class);
+    private final List<Object[]> engagement = new ArrayList<>();
+    private TrendingComplaintIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(complaintRepository.getPublicEngagement()).thenReturn(engagement);
+        index = new TrendingComplaintIndex(complaintRepository, null);
+        ReflectionTestUtils.setField(index, "halfLifeHours", 24.0);
+        ReflectionTestUtils.setField(index, "creationWeight", 3.0);
+        ReflectionTestUtils.setField(index, "likeWeight", 1.0);
+        ReflectionTestUtils.setField(index, "commentWeight", 2.0);
+    }
+
+    @Test
+    void existingEngagementRanksAsOfCreation() {
+        complaint(1L, CREATED, 1, 0);
+        complaint(2L, CREATED, 0, 1);
+        complaint(3L, CREATED, 0, 0);
+        assertEquals(List.of(2L, 1L, 3L), index.topIds(10));
+        assertEquals(List.of(2L, 1L), index.topIds(2));
+    }
+
+    @Test
+    void newLikeOutweighsOlderOnesByTheDecayFactor() {
+        complaint(1L, CREATED, 3, 0);
+        complaint(2L, CREATED, 0, 0);
+        complaint(3L, CREATED, 5, 0);
+        index.reconcile();
+
+        // 3 + 4 for the fresh like lands between 3 + 3 and 3 + 5
+        activity(2L, ComplaintActivityEvent.Type.LIKE_ADDED, 1);
+        assertEquals(List.of(3L, 2L, 1L), index.topIds(10));
+    }
+
+    @Test
+    void unlikeTakesBackNoMoreThanTheLikesAdded() {
+        complaint(1L, CREATED, 3, 0);
+        complaint(2L, CREATED, 1, 0);
+        index.reconcile();
+
+        // Taking a like off at today's weight would wipe out all three older likes
+        activity(1L, ComplaintActivityEvent.Type.LIKE_REMOVED, 1);
+        assertEquals(List.of(1L, 2L), index.topIds(10));
+
+        activity(1L, ComplaintActivityEvent.Type.LIKE_REMOVED, 1);
+        activity(1L, ComplaintActivityEvent.Type.LIKE_REMOVED, 1);
+        assertEquals(List.of(2L, 1L), index.topIds(10));
+    }
+
+    @Test
+    void unlikeWithoutLikesLeavesTheCreationScore() {
+        complaint(1L, CREATED, 0, 0);
+        complaint(2L, CREATED.minusMinutes(1), 0, 0);
+        index.reconcile();
+
+        activity(1L, ComplaintActivityEvent.Type.LIKE_REMOVED, 1);
+        assertEquals(List.of(1L, 2L), index.topIds(10));
+
+        // The extra unlike did not leave a debt behind
+        activity(1L, ComplaintActivityEvent.Type.LIKE_ADDED, 1);
+        activity(2L, ComplaintActivityEvent.Type.LIKE_ADDED, 1);
+        assertEquals(List.of(1L, 2L), index.topIds(10));
+    }
+
+    @Test
+    void reconcileDropsComplaintsNoLongerPublic() {
+        complaint(1L, CREATED, 0, 0);
+        complaint(2L, CREATED, 0, 0);
+        index.reconcile();
+
+        engagement.remove(0);
+        index.reconcile();
+        assertEquals(List.of(2L), index.topIds(10));
+    }
+
+    private void complaint(Long id, LocalDateTime createdAt, long likes, long comments) {
+        engagement.add(new Object[]{id, createdAt, likes, comments});
+    }
+
+    private void activity(Long id, ComplaintActivityEvent.Type type, int count) {
+        ComplaintSnapshot snapshot = new ComplaintSnapshot(id, null, null, null, true, false,
+                null, null, null, CREATED, CREATED, null);
+        index.onComplaintActivity(new ComplaintActivityEvent(snapshot, type, count));
+    }
+}